@@ -32,6 +32,20 @@ import java.util.NoSuchElementException;
  */
 public class AmbiguousElementException extends RuntimeException {
   private static final long serialVersionUID = -6156401570363076545L;
+  private static final AmbiguousElementException STACKLESS = new AmbiguousElementException(null, null, false, false);
+
+  /**
+   * Gets a shared exception without a stack trace.
+   *
+   * <p>Filling in a stack trace is the most expensive part of throwing an exception. When the exception is used for
+   * control flow and its stack trace is never inspected, this avoids that cost, and the allocation, entirely. The
+   * shared instance is immutable: it has no stack trace or cause, and does not record suppressed exceptions.</p>
+   *
+   * @return an exception
+   */
+  public static AmbiguousElementException stackless() {
+    return STACKLESS;
+  }
 
   public AmbiguousElementException() {
   }
@@ -39,4 +53,8 @@ public class AmbiguousElementException extends RuntimeException {
   public AmbiguousElementException(final String message) {
     super(message);
   }
+
+  protected AmbiguousElementException(final String message, final Throwable cause, final boolean enableSuppression, final boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
 }
@@ -23,6 +23,12 @@
  */
 package net.kyori.mu;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -103,4 +109,182 @@ public final class Comparables {
   public static <C extends Comparable<C>> @NonNull C max(final @NonNull C left, final @NonNull C right) {
     return greaterThanOrEqual(left, right) ? left : right;
   }
+
+  /**
+   * Sorts {@code list} by the natural ordering of a key extracted from each element.
+   *
+   * <p>Unlike sorting with {@link Comparator#comparing(Function)}, {@code key} is applied exactly once per element,
+   * rather than twice per comparison. The sort is stable.</p>
+   *
+   * @param list the list
+   * @param key the key extractor
+   * @param <T> the element type
+   * @param <C> the key type
+   */
+  public static <T, C extends Comparable<? super C>> void sortByKey(final @NonNull List<T> list, final @NonNull Function<? super T, ? extends C> key) {
+    sortByKey(list, key, Comparator.<C>naturalOrder());
+  }
+
+  /**
+   * Sorts {@code list} by a key extracted from each element, using {@code comparator} to compare keys.
+   *
+   * <p>Unlike sorting with {@link Comparator#comparing(Function, Comparator)}, {@code key} is applied exactly once per
+   * element, rather than twice per comparison. The sort is stable.</p>
+   *
+   * @param list the list
+   * @param key the key extractor
+   * @param comparator the key comparator
+   * @param <T> the element type
+   * @param <K> the key type
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, K> void sortByKey(final @NonNull List<T> list, final @NonNull Function<? super T, ? extends K> key, final @NonNull Comparator<? super K> comparator) {
+    final Object[] values = list.toArray();
+    final Object[] keys = new Object[values.length];
+    for(int i = 0, length = values.length; i < length; i++) {
+      keys[i] = key.apply((T) values[i]);
+    }
+    KeySorts.permute(list, values, KeySorts.sort(keys, comparator));
+  }
+
+  /**
+   * Sorts {@code list} by an {@code int} key extracted from each element.
+   *
+   * <p>{@code key} is applied exactly once per element, and keys are sorted without boxing - with a radix sort for
+   * large lists. The sort is stable.</p>
+   *
+   * @param list the list
+   * @param key the key extractor
+   * @param <T> the element type
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> void sortByIntKey(final @NonNull List<T> list, final @NonNull ToIntFunction<? super T> key) {
+    final Object[] values = list.toArray();
+    final long[] keys = new long[values.length];
+    for(int i = 0, length = values.length; i < length; i++) {
+      keys[i] = key.applyAsInt((T) values[i]);
+    }
+    KeySorts.permute(list, values, KeySorts.sort(keys));
+  }
+
+  /**
+   * Sorts {@code list} by a {@code long} key extracted from each element.
+   *
+   * <p>{@code key} is applied exactly once per element, and keys are sorted without boxing - with a radix sort for
+   * large lists. The sort is stable.</p>
+   *
+   * @param list the list
+   * @param key the key extractor
+   * @param <T> the element type
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> void sortByLongKey(final @NonNull List<T> list, final @NonNull ToLongFunction<? super T> key) {
+    final Object[] values = list.toArray();
+    final long[] keys = new long[values.length];
+    for(int i = 0, length = values.length; i < length; i++) {
+      keys[i] = key.applyAsLong((T) values[i]);
+    }
+    KeySorts.permute(list, values, KeySorts.sort(keys));
+  }
+
+  /**
+   * Sorts {@code list} by a {@code double} key extracted from each element, in the order defined by
+   * {@link Double#compare(double, double)}.
+   *
+   * <p>{@code key} is applied exactly once per element, and keys are sorted without boxing - with a radix sort for
+   * large lists. The sort is stable.</p>
+   *
+   * @param list the list
+   * @param key the key extractor
+   * @param <T> the element type
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> void sortByDoubleKey(final @NonNull List<T> list, final @NonNull ToDoubleFunction<? super T> key) {
+    final Object[] values = list.toArray();
+    final long[] keys = new long[values.length];
+    for(int i = 0, length = values.length; i < length; i++) {
+      keys[i] = KeySorts.sortable(key.applyAsDouble((T) values[i]));
+    }
+    KeySorts.permute(list, values, KeySorts.sort(keys));
+  }
+
+  /**
+   * Sorts {@code array} by the natural ordering of a key extracted from each element.
+   *
+   * @param array the array
+   * @param key the key extractor
+   * @param <T> the element type
+   * @param <C> the key type
+   * @see #sortByKey(List, Function)
+   */
+  public static <T, C extends Comparable<? super C>> void sortByKey(final @NonNull T[] array, final @NonNull Function<? super T, ? extends C> key) {
+    sortByKey(array, key, Comparator.<C>naturalOrder());
+  }
+
+  /**
+   * Sorts {@code array} by a key extracted from each element, using {@code comparator} to compare keys.
+   *
+   * @param array the array
+   * @param key the key extractor
+   * @param comparator the key comparator
+   * @param <T> the element type
+   * @param <K> the key type
+   * @see #sortByKey(List, Function, Comparator)
+   */
+  public static <T, K> void sortByKey(final @NonNull T[] array, final @NonNull Function<? super T, ? extends K> key, final @NonNull Comparator<? super K> comparator) {
+    final Object[] keys = new Object[array.length];
+    for(int i = 0, length = array.length; i < length; i++) {
+      keys[i] = key.apply(array[i]);
+    }
+    KeySorts.permute(array, KeySorts.sort(keys, comparator));
+  }
+
+  /**
+   * Sorts {@code array} by an {@code int} key extracted from each element.
+   *
+   * @param array the array
+   * @param key the key extractor
+   * @param <T> the element type
+   * @see #sortByIntKey(List, ToIntFunction)
+   */
+  public static <T> void sortByIntKey(final @NonNull T[] array, final @NonNull ToIntFunction<? super T> key) {
+    final long[] keys = new long[array.length];
+    for(int i = 0, length = array.length; i < length; i++) {
+      keys[i] = key.applyAsInt(array[i]);
+    }
+    KeySorts.permute(array, KeySorts.sort(keys));
+  }
+
+  /**
+   * Sorts {@code array} by a {@code long} key extracted from each element.
+   *
+   * @param array the array
+   * @param key the key extractor
+   * @param <T> the element type
+   * @see #sortByLongKey(List, ToLongFunction)
+   */
+  public static <T> void sortByLongKey(final @NonNull T[] array, final @NonNull ToLongFunction<? super T> key) {
+    final long[] keys = new long[array.length];
+    for(int i = 0, length = array.length; i < length; i++) {
+      keys[i] = key.applyAsLong(array[i]);
+    }
+    KeySorts.permute(array, KeySorts.sort(keys));
+  }
+
+  /**
+   * Sorts {@code array} by a {@code double} key extracted from each element, in the order defined by
+   * {@link Double#compare(double, double)}.
+   *
+   * @param array the array
+   * @param key the key extractor
+   * @param <T> the element type
+   * @see #sortByDoubleKey(List, ToDoubleFunction)
+   */
+  public static <T> void sortByDoubleKey(final @NonNull T[] array, final @NonNull ToDoubleFunction<? super T> key) {
+    final long[] keys = new long[array.length];
+    for(int i = 0, length = array.length; i < length; i++) {
+      keys[i] = KeySorts.sortable(key.applyAsDouble(array[i]));
+    }
+    KeySorts.permute(array, KeySorts.sort(keys));
+  }
 }
@@ -0,0 +1,233 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * Stable sorts over pre-extracted keys, used to sort elements by a key without recomputing it on every comparison.
+ */
+/* package */ final class KeySorts {
+  /**
+   * The size at which sorting primitive keys switches from a merge sort to a radix sort.
+   */
+  /* package */ static final int RADIX_THRESHOLD = 1 << 10;
+  private static final int INSERTION_THRESHOLD = 32;
+  private static final int RADIX = 1 << 8;
+
+  private KeySorts() {
+  }
+
+  /**
+   * Converts a {@code double} into a {@code long} which sorts in the same order as {@link Double#compare(double, double)}.
+   *
+   * @param value the value
+   * @return the sortable representation
+   */
+  /* package */ static long sortable(final double value) {
+    final long bits = Double.doubleToLongBits(value);
+    // negative values sort in reverse order of their magnitude - flip everything but the sign bit to fix that
+    return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+  }
+
+  /**
+   * Stably sorts {@code keys}, returning the permutation applied to them.
+   *
+   * @param keys the keys
+   * @return the original index of each key, in sorted order
+   */
+  /* package */ static int[] sort(final long[] keys) {
+    final int length = keys.length;
+    final int[] indices = new int[length];
+    for(int i = 0; i < length; i++) {
+      indices[i] = i;
+    }
+    if(length < RADIX_THRESHOLD) {
+      mergeSort(keys, indices, new long[length], new int[length], 0, length);
+    } else {
+      radixSort(keys, indices);
+    }
+    return indices;
+  }
+
+  /**
+   * Stably sorts {@code keys} using {@code comparator}, returning the permutation applied to them.
+   *
+   * @param keys the keys
+   * @param comparator the key comparator
+   * @param <K> the key type
+   * @return the original index of each key, in sorted order
+   */
+  @SuppressWarnings("unchecked")
+  /* package */ static <K> int[] sort(final Object[] keys, final Comparator<? super K> comparator) {
+    final int length = keys.length;
+    final Keyed[] keyed = new Keyed[length];
+    for(int i = 0; i < length; i++) {
+      keyed[i] = new Keyed(keys[i], i);
+    }
+    Arrays.sort(keyed, (a, b) -> comparator.compare((K) a.key, (K) b.key));
+    final int[] indices = new int[length];
+    for(int i = 0; i < length; i++) {
+      indices[i] = keyed[i].index;
+    }
+    return indices;
+  }
+
+  /**
+   * Rearranges {@code list} so that it contains {@code values} in the order given by {@code indices}.
+   *
+   * @param list the list
+   * @param values the values
+   * @param indices the index into {@code values} of each element, in order
+   * @param <T> the element type
+   */
+  @SuppressWarnings("unchecked")
+  /* package */ static <T> void permute(final List<T> list, final Object[] values, final int[] indices) {
+    if(list instanceof RandomAccess) {
+      for(int i = 0, length = indices.length; i < length; i++) {
+        list.set(i, (T) values[indices[i]]);
+      }
+    } else {
+      final ListIterator<T> it = list.listIterator();
+      for(int i = 0, length = indices.length; i < length; i++) {
+        it.next();
+        it.set((T) values[indices[i]]);
+      }
+    }
+  }
+
+  /**
+   * Rearranges {@code array} so that it contains its elements in the order given by {@code indices}.
+   *
+   * @param array the array
+   * @param indices the index of each element, in order
+   * @param <T> the element type
+   */
+  /* package */ static <T> void permute(final T[] array, final int[] indices) {
+    final T[] values = array.clone();
+    for(int i = 0, length = indices.length; i < length; i++) {
+      array[i] = values[indices[i]];
+    }
+  }
+
+  private static void mergeSort(final long[] keys, final int[] indices, final long[] tempKeys, final int[] tempIndices, final int from, final int to) {
+    if(to - from <= INSERTION_THRESHOLD) {
+      insertionSort(keys, indices, from, to);
+      return;
+    }
+    final int middle = (from + to) >>> 1;
+    mergeSort(keys, indices, tempKeys, tempIndices, from, middle);
+    mergeSort(keys, indices, tempKeys, tempIndices, middle, to);
+    if(keys[middle - 1] <= keys[middle]) {
+      return; // already in order
+    }
+    System.arraycopy(keys, from, tempKeys, from, to - from);
+    System.arraycopy(indices, from, tempIndices, from, to - from);
+    int left = from;
+    int right = middle;
+    for(int i = from; i < to; i++) {
+      // take from the left on ties to keep the sort stable
+      if(right >= to || (left < middle && tempKeys[left] <= tempKeys[right])) {
+        keys[i] = tempKeys[left];
+        indices[i] = tempIndices[left++];
+      } else {
+        keys[i] = tempKeys[right];
+        indices[i] = tempIndices[right++];
+      }
+    }
+  }
+
+  private static void insertionSort(final long[] keys, final int[] indices, final int from, final int to) {
+    for(int i = from + 1; i < to; i++) {
+      final long key = keys[i];
+      final int index = indices[i];
+      int j = i - 1;
+      while(j >= from && keys[j] > key) {
+        keys[j + 1] = keys[j];
+        indices[j + 1] = indices[j];
+        j--;
+      }
+      keys[j + 1] = key;
+      indices[j + 1] = index;
+    }
+  }
+
+  private static void radixSort(final long[] keys, final int[] indices) {
+    final int length = keys.length;
+    long[] sourceKeys = keys;
+    int[] sourceIndices = indices;
+    long[] targetKeys = new long[length];
+    int[] targetIndices = new int[length];
+    final int[] counts = new int[RADIX];
+    for(int shift = 0; shift < Long.SIZE; shift += 8) {
+      Arrays.fill(counts, 0);
+      for(int i = 0; i < length; i++) {
+        counts[digit(sourceKeys[i], shift)]++;
+      }
+      if(counts[digit(sourceKeys[0], shift)] == length) {
+        continue; // every key has the same digit here, so this pass would not move anything
+      }
+      int position = 0;
+      for(int digit = 0; digit < RADIX; digit++) {
+        final int count = counts[digit];
+        counts[digit] = position;
+        position += count;
+      }
+      for(int i = 0; i < length; i++) {
+        final int target = counts[digit(sourceKeys[i], shift)]++;
+        targetKeys[target] = sourceKeys[i];
+        targetIndices[target] = sourceIndices[i];
+      }
+      final long[] swapKeys = sourceKeys;
+      sourceKeys = targetKeys;
+      targetKeys = swapKeys;
+      final int[] swapIndices = sourceIndices;
+      sourceIndices = targetIndices;
+      targetIndices = swapIndices;
+    }
+    if(sourceKeys != keys) {
+      System.arraycopy(sourceKeys, 0, keys, 0, length);
+      System.arraycopy(sourceIndices, 0, indices, 0, length);
+    }
+  }
+
+  private static int digit(final long key, final int shift) {
+    // flip the sign bit, so that unsigned digit order matches signed order
+    return (int) ((key ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1);
+  }
+
+  private static final class Keyed {
+    final Object key;
+    final int index;
+
+    Keyed(final Object key, final int index) {
+      this.key = key;
+      this.index = index;
+    }
+  }
+}
@@ -56,7 +56,7 @@ public interface Maybe<T> extends Examinable, Iterable<T> {
    */
   Collector<?, ?, Maybe<?>> COLLECTOR = Collectors.collectingAndThen(
     Collectors.reducing((a, b) -> {
-      throw new AmbiguousElementException();
+      throw AmbiguousElementException.stackless();
     }),
     Maybe::from
   );
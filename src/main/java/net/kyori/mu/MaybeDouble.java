@@ -0,0 +1,264 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Something that may or may not contain a {@code double} value.
+ *
+ * <p>A primitive specialization of {@link Maybe}, which avoids boxing the value. Instances are small and final, so
+ * that short-lived ones can be scalar-replaced by escape analysis.</p>
+ */
+public final class MaybeDouble implements Examinable {
+  private static final MaybeDouble NOTHING = new MaybeDouble(false, 0D);
+  private final boolean just;
+  private final double value;
+
+  /**
+   * Returns a {@code MaybeDouble} containing nothing.
+   *
+   * @return a {@code MaybeDouble} containing nothing
+   */
+  public static @NonNull MaybeDouble nothing() {
+    return NOTHING;
+  }
+
+  /**
+   * Returns a {@code MaybeDouble} containing {@code value}.
+   *
+   * @param value the value
+   * @return a {@code MaybeDouble} with a value
+   */
+  public static @NonNull MaybeDouble just(final double value) {
+    return new MaybeDouble(true, value);
+  }
+
+  /**
+   * Converts an {@code OptionalDouble} into a {@code MaybeDouble}.
+   *
+   * @param optional the optional
+   * @return a {@code MaybeDouble}
+   */
+  public static @NonNull MaybeDouble from(final @NonNull OptionalDouble optional) {
+    return optional.isPresent() ? just(optional.getAsDouble()) : NOTHING;
+  }
+
+  private MaybeDouble(final boolean just, final double value) {
+    this.just = just;
+    this.value = value;
+  }
+
+  /**
+   * Returns {@code true} if this {@code MaybeDouble} is empty.
+   *
+   * @return {@code true} if this {@code MaybeDouble} is empty
+   */
+  public boolean isNothing() {
+    return !this.just;
+  }
+
+  /**
+   * Returns {@code true} if this {@code MaybeDouble} has a value.
+   *
+   * @return {@code true} if this {@code MaybeDouble} has a value
+   */
+  public boolean isJust() {
+    return this.just;
+  }
+
+  /**
+   * Gets the value if present, otherwise returns {@code defaultValue}.
+   *
+   * @param defaultValue the default value
+   * @return the value if present, otherwise {@code defaultValue}
+   */
+  public double orDefault(final double defaultValue) {
+    return this.just ? this.value : defaultValue;
+  }
+
+  /**
+   * Gets the value if present, otherwise returns the result of {@code other}.
+   *
+   * @param other the supplier of the value
+   * @return the value if present, otherwise the result of {@code other}
+   */
+  public double orGet(final @NonNull DoubleSupplier other) {
+    return this.just ? this.value : other.getAsDouble();
+  }
+
+  /**
+   * Gets the value if present, otherwise throws {@link NoSuchElementException}.
+   *
+   * @return the value
+   * @throws NoSuchElementException if no value is present
+   */
+  public double orThrow() throws NoSuchElementException {
+    if(!this.just) throw new NoSuchElementException("No value present");
+    return this.value;
+  }
+
+  /**
+   * Gets the value if present, otherwise throws the exception supplied by {@code supplier}.
+   *
+   * @param supplier the exception supplier
+   * @param <X> the exception type
+   * @return the value
+   * @throws X if no value is present
+   */
+  public <X extends Throwable> double orThrow(final @NonNull Supplier<X> supplier) throws X {
+    if(!this.just) throw supplier.get();
+    return this.value;
+  }
+
+  /**
+   * Returns this {@code MaybeDouble} if it has a value, otherwise returns {@code that}.
+   *
+   * @param that the other {@code MaybeDouble}
+   * @return this {@code MaybeDouble} if it has a value, otherwise {@code that}
+   */
+  public @NonNull MaybeDouble or(final @NonNull MaybeDouble that) {
+    return this.just ? this : that;
+  }
+
+  /**
+   * Returns this {@code MaybeDouble} if it has a value matching {@code predicate}, otherwise returns an empty {@code MaybeDouble}.
+   *
+   * @param predicate the predicate
+   * @return a {@code MaybeDouble}
+   */
+  public @NonNull MaybeDouble filter(final @NonNull DoublePredicate predicate) {
+    return this.just && predicate.test(this.value) ? this : NOTHING;
+  }
+
+  /**
+   * Maps the value, if present.
+   *
+   * @param function the mapping function
+   * @return a {@code MaybeDouble}
+   */
+  public @NonNull MaybeDouble map(final @NonNull DoubleUnaryOperator function) {
+    return this.just ? just(function.applyAsDouble(this.value)) : NOTHING;
+  }
+
+  /**
+   * Maps the value to an object, if present.
+   *
+   * @param function the mapping function
+   * @param <U> the new value type
+   * @return a {@code Maybe}
+   */
+  public <U> @NonNull Maybe<U> mapToObj(final @NonNull DoubleFunction<? extends U> function) {
+    return this.just ? Maybe.maybe(function.apply(this.value)) : Maybe.nothing();
+  }
+
+  /**
+   * Calls {@code nothing} if no value is present.
+   *
+   * @param nothing the callback
+   * @return this {@code MaybeDouble}
+   */
+  public @NonNull MaybeDouble ifNothing(final @NonNull Runnable nothing) {
+    if(!this.just) {
+      nothing.run();
+    }
+    return this;
+  }
+
+  /**
+   * Calls {@code just} with the value, if present.
+   *
+   * @param just the callback
+   * @return this {@code MaybeDouble}
+   */
+  public @NonNull MaybeDouble ifJust(final @NonNull DoubleConsumer just) {
+    if(this.just) {
+      just.accept(this.value);
+    }
+    return this;
+  }
+
+  /**
+   * Gets a stream of the value, if present.
+   *
+   * @return a stream
+   */
+  public @NonNull DoubleStream stream() {
+    return this.just ? DoubleStream.of(this.value) : DoubleStream.empty();
+  }
+
+  /**
+   * Converts this {@code MaybeDouble} into an {@code OptionalDouble}.
+   *
+   * @return an {@code OptionalDouble}
+   */
+  public @NonNull OptionalDouble optional() {
+    return this.just ? OptionalDouble.of(this.value) : OptionalDouble.empty();
+  }
+
+  /**
+   * Converts this {@code MaybeDouble} into a {@code Maybe}, boxing the value.
+   *
+   * @return a {@code Maybe}
+   */
+  public @NonNull Maybe<Double> boxed() {
+    return this.just ? Maybe.just(this.value) : Maybe.nothing();
+  }
+
+  @Override
+  public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return this.just ? Stream.of(ExaminableProperty.of("value", this.value)) : Stream.empty();
+  }
+
+  @Override
+  public @NonNull String toString() {
+    return this.just ? "MaybeDouble.just(" + this.value + ')' : "MaybeDouble.nothing()";
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if(this == other) return true;
+    if(!(other instanceof MaybeDouble)) return false;
+    final MaybeDouble that = (MaybeDouble) other;
+    return this.just == that.just && Double.compare(this.value, that.value) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.just ? Double.hashCode(this.value) : 0;
+  }
+}
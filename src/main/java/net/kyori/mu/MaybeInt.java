@@ -0,0 +1,264 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Something that may or may not contain an {@code int} value.
+ *
+ * <p>A primitive specialization of {@link Maybe}, which avoids boxing the value. Instances are small and final, so
+ * that short-lived ones can be scalar-replaced by escape analysis.</p>
+ */
+public final class MaybeInt implements Examinable {
+  private static final MaybeInt NOTHING = new MaybeInt(false, 0);
+  private final boolean just;
+  private final int value;
+
+  /**
+   * Returns a {@code MaybeInt} containing nothing.
+   *
+   * @return a {@code MaybeInt} containing nothing
+   */
+  public static @NonNull MaybeInt nothing() {
+    return NOTHING;
+  }
+
+  /**
+   * Returns a {@code MaybeInt} containing {@code value}.
+   *
+   * @param value the value
+   * @return a {@code MaybeInt} with a value
+   */
+  public static @NonNull MaybeInt just(final int value) {
+    return new MaybeInt(true, value);
+  }
+
+  /**
+   * Converts an {@code OptionalInt} into a {@code MaybeInt}.
+   *
+   * @param optional the optional
+   * @return a {@code MaybeInt}
+   */
+  public static @NonNull MaybeInt from(final @NonNull OptionalInt optional) {
+    return optional.isPresent() ? just(optional.getAsInt()) : NOTHING;
+  }
+
+  private MaybeInt(final boolean just, final int value) {
+    this.just = just;
+    this.value = value;
+  }
+
+  /**
+   * Returns {@code true} if this {@code MaybeInt} is empty.
+   *
+   * @return {@code true} if this {@code MaybeInt} is empty
+   */
+  public boolean isNothing() {
+    return !this.just;
+  }
+
+  /**
+   * Returns {@code true} if this {@code MaybeInt} has a value.
+   *
+   * @return {@code true} if this {@code MaybeInt} has a value
+   */
+  public boolean isJust() {
+    return this.just;
+  }
+
+  /**
+   * Gets the value if present, otherwise returns {@code defaultValue}.
+   *
+   * @param defaultValue the default value
+   * @return the value if present, otherwise {@code defaultValue}
+   */
+  public int orDefault(final int defaultValue) {
+    return this.just ? this.value : defaultValue;
+  }
+
+  /**
+   * Gets the value if present, otherwise returns the result of {@code other}.
+   *
+   * @param other the supplier of the value
+   * @return the value if present, otherwise the result of {@code other}
+   */
+  public int orGet(final @NonNull IntSupplier other) {
+    return this.just ? this.value : other.getAsInt();
+  }
+
+  /**
+   * Gets the value if present, otherwise throws {@link NoSuchElementException}.
+   *
+   * @return the value
+   * @throws NoSuchElementException if no value is present
+   */
+  public int orThrow() throws NoSuchElementException {
+    if(!this.just) throw new NoSuchElementException("No value present");
+    return this.value;
+  }
+
+  /**
+   * Gets the value if present, otherwise throws the exception supplied by {@code supplier}.
+   *
+   * @param supplier the exception supplier
+   * @param <X> the exception type
+   * @return the value
+   * @throws X if no value is present
+   */
+  public <X extends Throwable> int orThrow(final @NonNull Supplier<X> supplier) throws X {
+    if(!this.just) throw supplier.get();
+    return this.value;
+  }
+
+  /**
+   * Returns this {@code MaybeInt} if it has a value, otherwise returns {@code that}.
+   *
+   * @param that the other {@code MaybeInt}
+   * @return this {@code MaybeInt} if it has a value, otherwise {@code that}
+   */
+  public @NonNull MaybeInt or(final @NonNull MaybeInt that) {
+    return this.just ? this : that;
+  }
+
+  /**
+   * Returns this {@code MaybeInt} if it has a value matching {@code predicate}, otherwise returns an empty {@code MaybeInt}.
+   *
+   * @param predicate the predicate
+   * @return a {@code MaybeInt}
+   */
+  public @NonNull MaybeInt filter(final @NonNull IntPredicate predicate) {
+    return this.just && predicate.test(this.value) ? this : NOTHING;
+  }
+
+  /**
+   * Maps the value, if present.
+   *
+   * @param function the mapping function
+   * @return a {@code MaybeInt}
+   */
+  public @NonNull MaybeInt map(final @NonNull IntUnaryOperator function) {
+    return this.just ? just(function.applyAsInt(this.value)) : NOTHING;
+  }
+
+  /**
+   * Maps the value to an object, if present.
+   *
+   * @param function the mapping function
+   * @param <U> the new value type
+   * @return a {@code Maybe}
+   */
+  public <U> @NonNull Maybe<U> mapToObj(final @NonNull IntFunction<? extends U> function) {
+    return this.just ? Maybe.maybe(function.apply(this.value)) : Maybe.nothing();
+  }
+
+  /**
+   * Calls {@code nothing} if no value is present.
+   *
+   * @param nothing the callback
+   * @return this {@code MaybeInt}
+   */
+  public @NonNull MaybeInt ifNothing(final @NonNull Runnable nothing) {
+    if(!this.just) {
+      nothing.run();
+    }
+    return this;
+  }
+
+  /**
+   * Calls {@code just} with the value, if present.
+   *
+   * @param just the callback
+   * @return this {@code MaybeInt}
+   */
+  public @NonNull MaybeInt ifJust(final @NonNull IntConsumer just) {
+    if(this.just) {
+      just.accept(this.value);
+    }
+    return this;
+  }
+
+  /**
+   * Gets a stream of the value, if present.
+   *
+   * @return a stream
+   */
+  public @NonNull IntStream stream() {
+    return this.just ? IntStream.of(this.value) : IntStream.empty();
+  }
+
+  /**
+   * Converts this {@code MaybeInt} into an {@code OptionalInt}.
+   *
+   * @return an {@code OptionalInt}
+   */
+  public @NonNull OptionalInt optional() {
+    return this.just ? OptionalInt.of(this.value) : OptionalInt.empty();
+  }
+
+  /**
+   * Converts this {@code MaybeInt} into a {@code Maybe}, boxing the value.
+   *
+   * @return a {@code Maybe}
+   */
+  public @NonNull Maybe<Integer> boxed() {
+    return this.just ? Maybe.just(this.value) : Maybe.nothing();
+  }
+
+  @Override
+  public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return this.just ? Stream.of(ExaminableProperty.of("value", this.value)) : Stream.empty();
+  }
+
+  @Override
+  public @NonNull String toString() {
+    return this.just ? "MaybeInt.just(" + this.value + ')' : "MaybeInt.nothing()";
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if(this == other) return true;
+    if(!(other instanceof MaybeInt)) return false;
+    final MaybeInt that = (MaybeInt) other;
+    return this.just == that.just && this.value == that.value;
+  }
+
+  @Override
+  public int hashCode() {
+    return this.just ? Integer.hashCode(this.value) : 0;
+  }
+}
@@ -0,0 +1,535 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import net.kyori.mu.exception.Exceptions;
+import net.kyori.mu.function.ThrowingBiFunction;
+import net.kyori.mu.function.ThrowingFunction;
+import net.kyori.mu.function.ThrowingSupplier;
+import net.kyori.mu.tuple.Tuple2;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The result of an operation that either succeeded with a value, or failed with an error.
+ *
+ * <p>Where failure is expected - when parsing or validating input, for example - returning a {@code Result} avoids
+ * the cost of throwing and unwinding. Operations on a result of the wrong kind return the same instance, rather than
+ * allocating a new one.</p>
+ *
+ * @param <T> the value type
+ * @param <E> the error type
+ */
+public interface Result<T, E> extends Examinable {
+  /**
+   * A collector that partitions results into a list of values and a list of errors.
+   *
+   * @see #partitioning()
+   */
+  Collector<Result<?, ?>, ?, Tuple2<List<Object>, List<Object>>> PARTITIONING = Collector.of(
+    () -> Tuple2.tuple2(new ArrayList<>(), new ArrayList<>()),
+    (lists, result) -> {
+      if(result instanceof Success<?, ?>) {
+        lists.a().add(((Success<?, ?>) result).value);
+      } else {
+        lists.b().add(((Failure<?, ?>) result).error);
+      }
+    },
+    (left, right) -> {
+      left.a().addAll(right.a());
+      left.b().addAll(right.b());
+      return left;
+    },
+    Collector.Characteristics.IDENTITY_FINISH
+  );
+
+  /**
+   * Returns a successful result holding {@code value}.
+   *
+   * @param value the value
+   * @param <T> the value type
+   * @param <E> the error type
+   * @return a successful result
+   */
+  static <T, E> @NonNull Result<T, E> success(final @NonNull T value) {
+    return new Success<>(requireNonNull(value, "value"));
+  }
+
+  /**
+   * Returns a failed result holding {@code error}.
+   *
+   * @param error the error
+   * @param <T> the value type
+   * @param <E> the error type
+   * @return a failed result
+   */
+  static <T, E> @NonNull Result<T, E> failure(final @NonNull E error) {
+    return new Failure<>(requireNonNull(error, "error"));
+  }
+
+  /**
+   * Gets the result of {@code supplier}, capturing anything it throws as a failure.
+   *
+   * <p>Fatal errors, such as {@link OutOfMemoryError} or {@link StackOverflowError}, are
+   * {@link Exceptions#throwIfFatal(Throwable) rethrown} rather than captured - they are not failures of the operation,
+   * and nothing can meaningfully recover from them.</p>
+   *
+   * @param supplier the supplier
+   * @param <T> the value type
+   * @return a result
+   */
+  static <T> @NonNull Result<T, Throwable> of(final @NonNull ThrowingSupplier<? extends T, ?> supplier) {
+    try {
+      return success(supplier.throwingGet());
+    } catch(final Throwable t) {
+      Exceptions.throwIfFatal(t);
+      return failure(t);
+    }
+  }
+
+  /**
+   * Returns a function that captures anything {@code function} throws, other than fatal errors, as a failure.
+   *
+   * @param function the function
+   * @param <T> the input type
+   * @param <R> the value type
+   * @return a function
+   * @see #of(ThrowingSupplier)
+   */
+  static <T, R> @NonNull Function<T, Result<R, Throwable>> function(final @NonNull ThrowingFunction<? super T, ? extends R, ?> function) {
+    return input -> {
+      try {
+        return success(function.throwingApply(input));
+      } catch(final Throwable t) {
+        Exceptions.throwIfFatal(t);
+        return failure(t);
+      }
+    };
+  }
+
+  /**
+   * Returns a bi-function that captures anything {@code function} throws, other than fatal errors, as a failure.
+   *
+   * @param function the bi-function
+   * @param <T> the first input type
+   * @param <U> the second input type
+   * @param <R> the value type
+   * @return a bi-function
+   * @see #of(ThrowingSupplier)
+   */
+  static <T, U, R> @NonNull BiFunction<T, U, Result<R, Throwable>> biFunction(final @NonNull ThrowingBiFunction<? super T, ? super U, ? extends R, ?> function) {
+    return (first, second) -> {
+      try {
+        return success(function.throwingApply(first, second));
+      } catch(final Throwable t) {
+        Exceptions.throwIfFatal(t);
+        return failure(t);
+      }
+    };
+  }
+
+  /**
+   * Returns a collector that partitions results into a list of values and a list of errors, in encounter order.
+   *
+   * @param <T> the value type
+   * @param <E> the error type
+   * @return a collector
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  static <T, E> @NonNull Collector<Result<? extends T, ? extends E>, ?, Tuple2<List<T>, List<E>>> partitioning() {
+    return (Collector) PARTITIONING;
+  }
+
+  /**
+   * Returns {@code true} if this result is a success.
+   *
+   * @return {@code true} if this result is a success
+   */
+  boolean isSuccess();
+
+  /**
+   * Returns {@code true} if this result is a failure.
+   *
+   * @return {@code true} if this result is a failure
+   */
+  boolean isFailure();
+
+  /**
+   * Gets the value, if successful.
+   *
+   * @return the value, or nothing
+   */
+  @NonNull Maybe<T> value();
+
+  /**
+   * Gets the error, if failed.
+   *
+   * @return the error, or nothing
+   */
+  @NonNull Maybe<E> error();
+
+  /**
+   * Gets the value if successful, otherwise returns {@code defaultValue}.
+   *
+   * @param defaultValue the default value
+   * @return the value if successful, otherwise {@code defaultValue}
+   */
+  T orDefault(final @Nullable T defaultValue);
+
+  /**
+   * Gets the value if successful, otherwise returns the result of {@code other}.
+   *
+   * @param other the supplier of the value
+   * @return the value if successful, otherwise the result of {@code other}
+   */
+  T orGet(final @NonNull Supplier<? extends T> other);
+
+  /**
+   * Gets the value if successful, otherwise throws {@link NoSuchElementException}, caused by the error if it is a
+   * {@link Throwable}.
+   *
+   * @return the value
+   * @throws NoSuchElementException if this result is a failure
+   */
+  @NonNull T orThrow() throws NoSuchElementException;
+
+  /**
+   * Gets the value if successful, otherwise throws the exception created from the error by {@code function}.
+   *
+   * @param function the function creating the exception
+   * @param <X> the exception type
+   * @return the value
+   * @throws X if this result is a failure
+   */
+  <X extends Throwable> @NonNull T orThrow(final @NonNull Function<? super E, X> function) throws X;
+
+  /**
+   * Maps the value, if successful.
+   *
+   * @param function the mapping function
+   * @param <U> the new value type
+   * @return a result
+   */
+  <U> @NonNull Result<U, E> map(final @NonNull Function<? super T, ? extends U> function);
+
+  /**
+   * Maps the value to another result, if successful.
+   *
+   * @param function the mapping function
+   * @param <U> the new value type
+   * @return a result
+   */
+  <U> @NonNull Result<U, E> flatMap(final @NonNull Function<? super T, ? extends Result<? extends U, ? extends E>> function);
+
+  /**
+   * Maps the error, if failed.
+   *
+   * @param function the mapping function
+   * @param <F> the new error type
+   * @return a result
+   */
+  <F> @NonNull Result<T, F> mapError(final @NonNull Function<? super E, ? extends F> function);
+
+  /**
+   * Recovers a value from the error, if failed.
+   *
+   * @param function the recovering function
+   * @return a successful result
+   */
+  @NonNull Result<T, E> recover(final @NonNull Function<? super E, ? extends T> function);
+
+  /**
+   * Calls {@code success} with the value, if successful.
+   *
+   * @param success the consumer
+   * @return this result
+   */
+  @NonNull Result<T, E> ifSuccess(final @NonNull Consumer<? super T> success);
+
+  /**
+   * Calls {@code failure} with the error, if failed.
+   *
+   * @param failure the consumer
+   * @return this result
+   */
+  @NonNull Result<T, E> ifFailure(final @NonNull Consumer<? super E> failure);
+
+  /**
+   * Gets a stream of the value, if successful.
+   *
+   * @return a stream
+   */
+  @NonNull Stream<T> stream();
+
+  /**
+   * A successful result.
+   *
+   * @param <T> the value type
+   * @param <E> the error type
+   */
+  final class Success<T, E> implements Result<T, E> {
+    private final T value;
+
+    /* package */ Success(final T value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return true;
+    }
+
+    @Override
+    public boolean isFailure() {
+      return false;
+    }
+
+    @Override
+    public @NonNull Maybe<T> value() {
+      return Maybe.just(this.value);
+    }
+
+    @Override
+    public @NonNull Maybe<E> error() {
+      return Maybe.nothing();
+    }
+
+    @Override
+    public T orDefault(final @Nullable T defaultValue) {
+      return this.value;
+    }
+
+    @Override
+    public T orGet(final @NonNull Supplier<? extends T> other) {
+      return this.value;
+    }
+
+    @Override
+    public @NonNull T orThrow() {
+      return this.value;
+    }
+
+    @Override
+    public <X extends Throwable> @NonNull T orThrow(final @NonNull Function<? super E, X> function) {
+      return this.value;
+    }
+
+    @Override
+    public <U> @NonNull Result<U, E> map(final @NonNull Function<? super T, ? extends U> function) {
+      return success(function.apply(this.value));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> @NonNull Result<U, E> flatMap(final @NonNull Function<? super T, ? extends Result<? extends U, ? extends E>> function) {
+      return (Result<U, E>) function.apply(this.value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <F> @NonNull Result<T, F> mapError(final @NonNull Function<? super E, ? extends F> function) {
+      // there is no error, so we can just cast
+      return (Result<T, F>) this;
+    }
+
+    @Override
+    public @NonNull Result<T, E> recover(final @NonNull Function<? super E, ? extends T> function) {
+      return this;
+    }
+
+    @Override
+    public @NonNull Result<T, E> ifSuccess(final @NonNull Consumer<? super T> success) {
+      success.accept(this.value);
+      return this;
+    }
+
+    @Override
+    public @NonNull Result<T, E> ifFailure(final @NonNull Consumer<? super E> failure) {
+      return this;
+    }
+
+    @Override
+    public @NonNull Stream<T> stream() {
+      return Stream.of(this.value);
+    }
+
+    @Override
+    public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+      return Stream.of(ExaminableProperty.of("value", this.value));
+    }
+
+    @Override
+    public @NonNull String toString() {
+      return "Result.success(" + this.value + ')';
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(other == null || this.getClass() != other.getClass()) return false;
+      final Success<?, ?> that = (Success<?, ?>) other;
+      return Objects.equals(this.value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(this.value);
+    }
+  }
+
+  /**
+   * A failed result.
+   *
+   * @param <T> the value type
+   * @param <E> the error type
+   */
+  final class Failure<T, E> implements Result<T, E> {
+    private final E error;
+
+    /* package */ Failure(final E error) {
+      this.error = error;
+    }
+
+    @Override
+    public boolean isSuccess() {
+      return false;
+    }
+
+    @Override
+    public boolean isFailure() {
+      return true;
+    }
+
+    @Override
+    public @NonNull Maybe<T> value() {
+      return Maybe.nothing();
+    }
+
+    @Override
+    public @NonNull Maybe<E> error() {
+      return Maybe.just(this.error);
+    }
+
+    @Override
+    public T orDefault(final @Nullable T defaultValue) {
+      return defaultValue;
+    }
+
+    @Override
+    public T orGet(final @NonNull Supplier<? extends T> other) {
+      return other.get();
+    }
+
+    @Override
+    public @NonNull T orThrow() throws NoSuchElementException {
+      final NoSuchElementException exception = new NoSuchElementException("Result is a failure: " + this.error);
+      if(this.error instanceof Throwable) {
+        // keep the original stack trace
+        exception.initCause((Throwable) this.error);
+      }
+      throw exception;
+    }
+
+    @Override
+    public <X extends Throwable> @NonNull T orThrow(final @NonNull Function<? super E, X> function) throws X {
+      throw function.apply(this.error);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> @NonNull Result<U, E> map(final @NonNull Function<? super T, ? extends U> function) {
+      // there is no value, so we can just cast
+      return (Result<U, E>) this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U> @NonNull Result<U, E> flatMap(final @NonNull Function<? super T, ? extends Result<? extends U, ? extends E>> function) {
+      return (Result<U, E>) this;
+    }
+
+    @Override
+    public <F> @NonNull Result<T, F> mapError(final @NonNull Function<? super E, ? extends F> function) {
+      return failure(function.apply(this.error));
+    }
+
+    @Override
+    public @NonNull Result<T, E> recover(final @NonNull Function<? super E, ? extends T> function) {
+      return success(function.apply(this.error));
+    }
+
+    @Override
+    public @NonNull Result<T, E> ifSuccess(final @NonNull Consumer<? super T> success) {
+      return this;
+    }
+
+    @Override
+    public @NonNull Result<T, E> ifFailure(final @NonNull Consumer<? super E> failure) {
+      failure.accept(this.error);
+      return this;
+    }
+
+    @Override
+    public @NonNull Stream<T> stream() {
+      return Stream.empty();
+    }
+
+    @Override
+    public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+      return Stream.of(ExaminableProperty.of("error", this.error));
+    }
+
+    @Override
+    public @NonNull String toString() {
+      return "Result.failure(" + this.error + ')';
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object other) {
+      if(this == other) return true;
+      if(other == null || this.getClass() != other.getClass()) return false;
+      final Failure<?, ?> that = (Failure<?, ?>) other;
+      return Objects.equals(this.error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(this.error);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.collection;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * A task that folds a range of a random access list, splitting it in half until it is small enough to fold sequentially.
+ */
+/* package */ final class FoldTask<E, U> extends RecursiveTask<U> {
+  private static final long serialVersionUID = 6429553163390133093L;
+  private final List<? extends E> list;
+  private final int from;
+  private final int to;
+  private final int threshold;
+  private final U identity;
+  private final BiFunction<U, ? super E, U> accumulator;
+  private final BinaryOperator<U> combiner;
+
+  /* package */ FoldTask(final List<? extends E> list, final int from, final int to, final int threshold, final U identity, final BiFunction<U, ? super E, U> accumulator, final BinaryOperator<U> combiner) {
+    this.list = list;
+    this.from = from;
+    this.to = to;
+    this.threshold = threshold;
+    this.identity = identity;
+    this.accumulator = accumulator;
+    this.combiner = combiner;
+  }
+
+  @Override
+  protected U compute() {
+    final int size = this.to - this.from;
+    if(size <= this.threshold) {
+      U result = this.identity;
+      for(int i = this.from; i < this.to; i++) {
+        result = this.accumulator.apply(result, this.list.get(i));
+      }
+      return result;
+    }
+    final int middle = this.from + (size >>> 1);
+    final FoldTask<E, U> left = new FoldTask<>(this.list, this.from, middle, this.threshold, this.identity, this.accumulator, this.combiner);
+    final FoldTask<E, U> right = new FoldTask<>(this.list, middle, this.to, this.threshold, this.identity, this.accumulator, this.combiner);
+    // fork the right half, and work on the left half ourselves
+    right.fork();
+    final U leftResult = left.compute();
+    return this.combiner.apply(leftResult, right.join());
+  }
+}
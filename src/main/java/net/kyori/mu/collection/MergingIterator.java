@@ -0,0 +1,143 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.collection;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An iterator that merges sorted iterators, using a binary min-heap keyed on the next element of each iterator.
+ *
+ * <p>Each element costs {@code O(log k)} comparisons, where {@code k} is the number of iterators that have not yet
+ * been exhausted. Elements which compare equal are returned in the order of the iterators they came from.</p>
+ */
+/* package */ final class MergingIterator<T> implements Iterator<T> {
+  private final Comparator<? super T> comparator;
+  private @Nullable Iterable<? extends Iterator<? extends T>> iterators;
+  private Cursor<T>[] heap;
+  private int size;
+
+  @SuppressWarnings("unchecked")
+  /* package */ MergingIterator(final Iterable<? extends Iterator<? extends T>> iterators, final Comparator<? super T> comparator) {
+    this.iterators = iterators;
+    this.comparator = comparator;
+    this.heap = (Cursor<T>[]) new Cursor<?>[0];
+  }
+
+  private void init() {
+    // pull the first element of each iterator lazily, so that nothing is consumed until we are
+    final Iterable<? extends Iterator<? extends T>> iterators = this.iterators;
+    if(iterators == null) {
+      return;
+    }
+    this.iterators = null;
+    int index = 0;
+    for(final Iterator<? extends T> iterator : iterators) {
+      if(iterator.hasNext()) {
+        if(this.size == this.heap.length) {
+          this.heap = Arrays.copyOf(this.heap, Math.max(4, this.size << 1));
+        }
+        this.heap[this.size] = new Cursor<>(iterator, iterator.next(), index);
+        this.siftUp(this.size++);
+      }
+      index++;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    this.init();
+    return this.size > 0;
+  }
+
+  @Override
+  public T next() {
+    if(!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final Cursor<T> top = this.heap[0];
+    final T next = top.head;
+    if(top.iterator.hasNext()) {
+      top.head = top.iterator.next();
+    } else {
+      this.heap[0] = this.heap[--this.size];
+      this.heap[this.size] = null;
+    }
+    if(this.size > 0) {
+      this.siftDown(0);
+    }
+    return next;
+  }
+
+  private boolean less(final Cursor<T> a, final Cursor<T> b) {
+    final int result = this.comparator.compare(a.head, b.head);
+    return result < 0 || (result == 0 && a.index < b.index);
+  }
+
+  private void siftUp(int index) {
+    final Cursor<T> cursor = this.heap[index];
+    while(index > 0) {
+      final int parent = (index - 1) >>> 1;
+      if(!this.less(cursor, this.heap[parent])) {
+        break;
+      }
+      this.heap[index] = this.heap[parent];
+      index = parent;
+    }
+    this.heap[index] = cursor;
+  }
+
+  private void siftDown(int index) {
+    final Cursor<T> cursor = this.heap[index];
+    final int half = this.size >>> 1;
+    while(index < half) {
+      int child = (index << 1) + 1;
+      final int right = child + 1;
+      if(right < this.size && this.less(this.heap[right], this.heap[child])) {
+        child = right;
+      }
+      if(!this.less(this.heap[child], cursor)) {
+        break;
+      }
+      this.heap[index] = this.heap[child];
+      index = child;
+    }
+    this.heap[index] = cursor;
+  }
+
+  private static final class Cursor<T> {
+    final Iterator<? extends T> iterator;
+    final int index;
+    T head;
+
+    Cursor(final Iterator<? extends T> iterator, final T head, final int index) {
+      this.iterator = iterator;
+      this.head = head;
+      this.index = index;
+    }
+  }
+}
@@ -23,7 +23,14 @@
  */
 package net.kyori.mu.collection;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -35,6 +42,11 @@ import org.checkerframework.checker.nullness.qual.NonNull;
  * A collection of utilities for working with collections.
  */
 public final class MuCollections {
+  /**
+   * The smallest number of elements a parallel fold will fold sequentially in a single task.
+   */
+  private static final int MIN_FOLD_LEAF_SIZE = 1 << 10;
+
   private MuCollections() {
   }
 
@@ -59,4 +71,41 @@ public final class MuCollections {
     }
     return reducer.apply(collection);
   }
+
+  /**
+   * Folds {@code collection} in parallel, splitting it into balanced fork-join tasks that are folded with
+   * {@code accumulator} and then merged with {@code combiner}.
+   *
+   * <p>{@code identity} must be an identity for {@code combiner}, and {@code accumulator} and {@code combiner} must be
+   * associative and compatible - as with {@link java.util.stream.Stream#reduce(Object, BiFunction, BinaryOperator)}.
+   * Collections too small to benefit from splitting are folded sequentially on the calling thread. Collections which are
+   * not {@link RandomAccess random access} are copied into an array before being split.</p>
+   *
+   * <p>Tasks run in the fork-join pool of the calling thread, or in the {@link ForkJoinPool#commonPool() common pool}
+   * when not called from within one.</p>
+   *
+   * @param collection the collection
+   * @param identity the identity value
+   * @param accumulator a function to fold an element into a partial result
+   * @param combiner a function to combine two partial results
+   * @param <E> the element type
+   * @param <U> the result type
+   * @return a folded value
+   * @see MuIterables#lfold(Iterable, Object, BiFunction)
+   */
+  @SuppressWarnings("unchecked")
+  public static <E, U> /* @Nullable */ U parallelFold(final @NonNull Collection<? extends E> collection, final /* @Nullable */ U identity, final @NonNull BiFunction<U, ? super E, U> accumulator, final @NonNull BinaryOperator<U> combiner) {
+    final int size = collection.size();
+    final ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool() : ForkJoinPool.commonPool();
+    // aim for a few leaves per thread, so that threads which finish early have something to steal
+    final int threshold = Math.max(MIN_FOLD_LEAF_SIZE, size / (pool.getParallelism() << 2));
+    if(size <= threshold) {
+      return MuIterables.lfold(collection, identity, accumulator::apply);
+    }
+    final List<? extends E> list = collection instanceof List<?> && collection instanceof RandomAccess
+      ? (List<? extends E>) collection
+      : (List<? extends E>) Arrays.asList(collection.toArray());
+    final FoldTask<E, U> task = new FoldTask<>(list, 0, list.size(), threshold, identity, accumulator, combiner);
+    return ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+  }
 }
@@ -25,8 +25,13 @@ package net.kyori.mu.collection;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import net.kyori.mu.function.DoubleObjToDoubleFunction;
+import net.kyori.mu.function.IntObjToIntFunction;
+import net.kyori.mu.function.LongObjToLongFunction;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /*
@@ -58,6 +63,90 @@ public final class MuIterables {
     return result;
   }
 
+  /**
+   * Folds {@code elements} from the left into an {@code int}, starting with {@code seed} and successively calling {@code combiner}.
+   *
+   * <p>Unlike {@link #lfold(Iterable, Object, BiFunction)}, the accumulated value is never boxed.</p>
+   *
+   * @param elements the elements to fold
+   * @param seed the starting value
+   * @param combiner a function to combine the accumulated value with an element
+   * @param <E> the element type
+   * @return a folded value
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> int lfoldInt(final @NonNull Iterable<? extends E> elements, final int seed, final @NonNull IntObjToIntFunction<? super E> combiner) {
+    int result = seed;
+    if(elements instanceof List<?> && elements instanceof RandomAccess) {
+      // avoid allocating an iterator
+      final List<? extends E> list = (List<? extends E>) elements;
+      for(int i = 0, size = list.size(); i < size; i++) {
+        result = combiner.applyAsInt(result, list.get(i));
+      }
+    } else {
+      for(final E element : elements) {
+        result = combiner.applyAsInt(result, element);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Folds {@code elements} from the left into a {@code long}, starting with {@code seed} and successively calling {@code combiner}.
+   *
+   * <p>Unlike {@link #lfold(Iterable, Object, BiFunction)}, the accumulated value is never boxed.</p>
+   *
+   * @param elements the elements to fold
+   * @param seed the starting value
+   * @param combiner a function to combine the accumulated value with an element
+   * @param <E> the element type
+   * @return a folded value
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> long lfoldLong(final @NonNull Iterable<? extends E> elements, final long seed, final @NonNull LongObjToLongFunction<? super E> combiner) {
+    long result = seed;
+    if(elements instanceof List<?> && elements instanceof RandomAccess) {
+      // avoid allocating an iterator
+      final List<? extends E> list = (List<? extends E>) elements;
+      for(int i = 0, size = list.size(); i < size; i++) {
+        result = combiner.applyAsLong(result, list.get(i));
+      }
+    } else {
+      for(final E element : elements) {
+        result = combiner.applyAsLong(result, element);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Folds {@code elements} from the left into a {@code double}, starting with {@code seed} and successively calling {@code combiner}.
+   *
+   * <p>Unlike {@link #lfold(Iterable, Object, BiFunction)}, the accumulated value is never boxed.</p>
+   *
+   * @param elements the elements to fold
+   * @param seed the starting value
+   * @param combiner a function to combine the accumulated value with an element
+   * @param <E> the element type
+   * @return a folded value
+   */
+  @SuppressWarnings("unchecked")
+  public static <E> double lfoldDouble(final @NonNull Iterable<? extends E> elements, final double seed, final @NonNull DoubleObjToDoubleFunction<? super E> combiner) {
+    double result = seed;
+    if(elements instanceof List<?> && elements instanceof RandomAccess) {
+      // avoid allocating an iterator
+      final List<? extends E> list = (List<? extends E>) elements;
+      for(int i = 0, size = list.size(); i < size; i++) {
+        result = combiner.applyAsDouble(result, list.get(i));
+      }
+    } else {
+      for(final E element : elements) {
+        result = combiner.applyAsDouble(result, element);
+      }
+    }
+    return result;
+  }
+
   /**
    * Reduces a iterable to a single element of the inhabiting type depending on the iterable's size.
    *
@@ -23,6 +23,8 @@
  */
 package net.kyori.mu.collection;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -48,4 +50,37 @@ public final class MuIterators {
   public static <T> @NonNull Iterator<T> singleton(final @Nullable T value) {
     return new SingletonIterator<>(value);
   }
+
+  /**
+   * Returns an iterator that merges {@code iterators}, each of which must already be sorted according to
+   * {@code comparator}, into a single sorted iterator.
+   *
+   * <p>Elements are merged lazily with a binary heap, so each element costs {@code O(log k)} comparisons for
+   * {@code k} iterators, and no elements are copied. Elements which compare equal are returned in the order of the
+   * iterators they came from.</p>
+   *
+   * @param iterators the sorted iterators
+   * @param comparator the comparator the iterators are sorted by
+   * @param <T> the element type
+   * @return a merged iterator
+   */
+  public static <T> @NonNull Iterator<T> mergeSorted(final @NonNull Iterable<? extends Iterator<? extends T>> iterators, final @NonNull Comparator<? super T> comparator) {
+    return new MergingIterator<>(iterators, comparator);
+  }
+
+  /**
+   * Returns an iterator that merges {@code iterators}, each of which must already be sorted according to
+   * {@code comparator}, into a single sorted iterator.
+   *
+   * @param comparator the comparator the iterators are sorted by
+   * @param iterators the sorted iterators
+   * @param <T> the element type
+   * @return a merged iterator
+   * @see #mergeSorted(Iterable, Comparator)
+   */
+  @SafeVarargs
+  @SuppressWarnings("varargs")
+  public static <T> @NonNull Iterator<T> mergeSorted(final @NonNull Comparator<? super T> comparator, final @NonNull Iterator<? extends T>... iterators) {
+    return mergeSorted(Arrays.asList(iterators), comparator);
+  }
 }
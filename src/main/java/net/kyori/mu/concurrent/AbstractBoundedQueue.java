@@ -0,0 +1,81 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/* package */ abstract class AbstractBoundedQueue<E> extends QueueIndices.TailPadding implements BoundedQueue<E> {
+  // the largest power of two representable as an int
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+  /* package */ final AtomicReferenceArray<E> buffer;
+  /* package */ final int mask;
+
+  /* package */ AbstractBoundedQueue(final int capacity) {
+    if(capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+    if(capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("capacity must not exceed " + MAXIMUM_CAPACITY + ": " + capacity);
+    // at least two slots, so a slot's sequence can't be mistaken for the next lap's
+    final int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+    this.buffer = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  @Override
+  public final int capacity() {
+    return this.mask + 1;
+  }
+
+  @Override
+  public final int size() {
+    // re-read the consumer index until it is stable, so we never see a producer index older than it
+    long after = this.consumerIndex();
+    for(;;) {
+      final long before = after;
+      final long producerIndex = this.producerIndex();
+      after = this.consumerIndex();
+      if(before == after) {
+        return (int) Math.max(0, Math.min(this.capacity(), producerIndex - after));
+      }
+    }
+  }
+
+  @Override
+  public int drain(final @NonNull Consumer<? super E> consumer, final int limit) {
+    int drained = 0;
+    while(drained < limit) {
+      final /* @Nullable */ E element = this.poll();
+      if(element == null) {
+        break;
+      }
+      consumer.accept(element);
+      drained++;
+    }
+    return drained;
+  }
+
+  /* package */ final int index(final long sequence) {
+    return (int) sequence & this.mask;
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Collects individual loads into batches, which are dispatched to a bulk loader once they reach a maximum size or
+ * have waited for a maximum delay - whichever comes first.
+ *
+ * <p>Loads of the same key within a batch share a single entry in the batch.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface BatchingDispatcher<K, V> {
+  /**
+   * Creates a batching dispatcher.
+   *
+   * <p>The bulk loader is run on {@code scheduler}, and is given the distinct keys of a batch in the order they were
+   * first loaded. Keys absent from the map it returns are completed with {@code null}. If the bulk loader throws, every
+   * load in the batch is completed exceptionally.</p>
+   *
+   * @param loader the bulk loader
+   * @param maxBatchSize the maximum number of keys in a batch
+   * @param maxDelay the maximum delay between the first load in a batch and its dispatch
+   * @param unit the unit of {@code maxDelay}
+   * @param scheduler the scheduler used to time batches and run the bulk loader
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a batching dispatcher
+   * @throws IllegalArgumentException if {@code maxBatchSize} is not positive, or {@code maxDelay} is negative
+   */
+  static <K, V> @NonNull BatchingDispatcher<K, V> create(final @NonNull Function<? super List<K>, ? extends Map<K, ? extends V>> loader, final int maxBatchSize, final long maxDelay, final @NonNull TimeUnit unit, final @NonNull ScheduledExecutorService scheduler) {
+    return new BatchingDispatcherImpl<>(loader, maxBatchSize, unit.toNanos(maxDelay), scheduler);
+  }
+
+  /**
+   * Loads the value for {@code key} as part of the current batch.
+   *
+   * @param key the key
+   * @return a future completed with the value, or {@code null} if the bulk loader returned no value for {@code key}
+   */
+  @NonNull CompletableFuture<V> load(final @NonNull K key);
+
+  /**
+   * Dispatches the current batch now, without waiting for it to fill or for its delay to elapse.
+   */
+  void flush();
+
+  /**
+   * Gets the number of distinct keys waiting in the current batch.
+   *
+   * @return the number of keys
+   */
+  int pending();
+}
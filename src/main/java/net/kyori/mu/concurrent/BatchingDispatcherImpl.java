@@ -0,0 +1,153 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/* package */ final class BatchingDispatcherImpl<K, V> implements BatchingDispatcher<K, V> {
+  private final Function<? super List<K>, ? extends Map<K, ? extends V>> loader;
+  private final int maxBatchSize;
+  private final long maxDelay;
+  private final ScheduledExecutorService scheduler;
+  private final Object lock = new Object();
+  private @Nullable Batch batch;
+
+  /* package */ BatchingDispatcherImpl(final Function<? super List<K>, ? extends Map<K, ? extends V>> loader, final int maxBatchSize, final long maxDelay, final ScheduledExecutorService scheduler) {
+    if(maxBatchSize <= 0) throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+    if(maxDelay < 0) throw new IllegalArgumentException("maxDelay must not be negative: " + maxDelay);
+    this.loader = loader;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelay = maxDelay;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public @NonNull CompletableFuture<V> load(final @NonNull K key) {
+    final CompletableFuture<V> future;
+    /* @Nullable */ Batch full = null;
+    /* @Nullable */ Batch created = null;
+    synchronized(this.lock) {
+      Batch batch = this.batch;
+      if(batch == null) {
+        batch = created = this.batch = new Batch();
+      }
+      future = batch.entries.computeIfAbsent(key, k -> new CompletableFuture<>());
+      if(batch.entries.size() >= this.maxBatchSize) {
+        full = batch;
+        this.batch = null;
+      }
+    }
+    if(full != null) {
+      this.dispatch(full);
+    } else if(created != null) {
+      // schedule outside the lock - the timer only dispatches the batch if it is still current
+      final Batch batch = created;
+      try {
+        batch.timer = this.scheduler.schedule(() -> this.expire(batch), this.maxDelay, TimeUnit.NANOSECONDS);
+      } catch(final Throwable t) {
+        this.expire(batch);
+      }
+    }
+    // give each caller their own future, so one caller can't complete or cancel it for everyone else
+    return future.thenApply(Function.identity());
+  }
+
+  private void expire(final Batch batch) {
+    synchronized(this.lock) {
+      if(this.batch != batch) {
+        return;
+      }
+      this.batch = null;
+    }
+    this.dispatch(batch);
+  }
+
+  @Override
+  public void flush() {
+    final /* @Nullable */ Batch batch;
+    synchronized(this.lock) {
+      batch = this.batch;
+      this.batch = null;
+    }
+    if(batch != null) {
+      this.dispatch(batch);
+    }
+  }
+
+  @Override
+  public int pending() {
+    synchronized(this.lock) {
+      final /* @Nullable */ Batch batch = this.batch;
+      return batch == null ? 0 : batch.entries.size();
+    }
+  }
+
+  private void dispatch(final Batch batch) {
+    final /* @Nullable */ ScheduledFuture<?> timer = batch.timer;
+    if(timer != null) {
+      timer.cancel(false);
+    }
+    try {
+      this.scheduler.execute(() -> this.load(batch));
+    } catch(final Throwable t) {
+      batch.fail(t);
+    }
+  }
+
+  private void load(final Batch batch) {
+    try {
+      final Map<K, ? extends V> values = requireNonNull(this.loader.apply(new ArrayList<>(batch.entries.keySet())), "loader returned null");
+      for(final Map.Entry<K, CompletableFuture<V>> entry : batch.entries.entrySet()) {
+        entry.getValue().complete(values.get(entry.getKey()));
+      }
+    } catch(final Throwable t) {
+      // futures that were already completed are unaffected
+      batch.fail(t);
+    }
+  }
+
+  private final class Batch {
+    // insertion-ordered, so the loader sees keys in the order they were first loaded
+    final Map<K, CompletableFuture<V>> entries = new LinkedHashMap<>();
+    volatile @Nullable ScheduledFuture<?> timer;
+
+    void fail(final Throwable throwable) {
+      for(final CompletableFuture<V> future : this.entries.values()) {
+        future.completeExceptionally(throwable);
+      }
+    }
+  }
+}
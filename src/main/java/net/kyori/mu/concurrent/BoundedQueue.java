@@ -0,0 +1,187 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A bounded, lock-free queue backed by a ring buffer.
+ *
+ * <p>Unlike {@link java.util.concurrent.LinkedBlockingQueue}, offering an element does not allocate a node or
+ * acquire a lock. Each implementation is specialised for a number of producer and consumer threads - using a
+ * queue from more threads than it supports will corrupt it.</p>
+ *
+ * <p>Null elements are not permitted.</p>
+ *
+ * @param <E> the element type
+ */
+public interface BoundedQueue<E> {
+  /**
+   * Creates a queue that supports a single producer thread and a single consumer thread.
+   *
+   * @param capacity the minimum capacity, which is rounded up to a power of two
+   * @param <E> the element type
+   * @return a new queue
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   */
+  static <E> @NonNull BoundedQueue<E> spsc(final int capacity) {
+    return new SpscArrayQueue<>(capacity);
+  }
+
+  /**
+   * Creates a queue that supports any number of producer threads and a single consumer thread.
+   *
+   * @param capacity the minimum capacity, which is rounded up to a power of two
+   * @param <E> the element type
+   * @return a new queue
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   */
+  static <E> @NonNull BoundedQueue<E> mpsc(final int capacity) {
+    return new MpscArrayQueue<>(capacity);
+  }
+
+  /**
+   * Creates a queue that supports any number of producer threads and any number of consumer threads.
+   *
+   * @param capacity the minimum capacity, which is rounded up to a power of two
+   * @param <E> the element type
+   * @return a new queue
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   */
+  static <E> @NonNull BoundedQueue<E> mpmc(final int capacity) {
+    return new MpmcArrayQueue<>(capacity);
+  }
+
+  /**
+   * Gets the capacity of this queue.
+   *
+   * @return the capacity
+   */
+  int capacity();
+
+  /**
+   * Gets the number of elements in this queue.
+   *
+   * <p>This is only an estimate while other threads are modifying the queue.</p>
+   *
+   * @return the number of elements
+   */
+  int size();
+
+  /**
+   * Tests if this queue is empty.
+   *
+   * <p>This is only an estimate while other threads are modifying the queue.</p>
+   *
+   * @return {@code true} if this queue is empty
+   */
+  default boolean isEmpty() {
+    return this.size() == 0;
+  }
+
+  /**
+   * Inserts {@code element} into this queue, if there is space.
+   *
+   * @param element the element
+   * @return {@code true} if the element was inserted, {@code false} if this queue is full
+   */
+  boolean offer(final @NonNull E element);
+
+  /**
+   * Removes the head of this queue.
+   *
+   * @return the head of this queue, or {@code null} if this queue is empty
+   */
+  @Nullable E poll();
+
+  /**
+   * Inserts {@code element} into this queue, idling with {@code strategy} until there is space.
+   *
+   * @param element the element
+   * @param strategy the wait strategy
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  default void put(final @NonNull E element, final @NonNull WaitStrategy strategy) throws InterruptedException {
+    int attempts = 0;
+    while(!this.offer(element)) {
+      if(Thread.interrupted()) throw new InterruptedException();
+      attempts = strategy.idle(attempts);
+    }
+  }
+
+  /**
+   * Removes the head of this queue, idling with {@code strategy} until an element is available.
+   *
+   * @param strategy the wait strategy
+   * @return the head of this queue
+   * @throws InterruptedException if the current thread is interrupted while waiting
+   */
+  default @NonNull E take(final @NonNull WaitStrategy strategy) throws InterruptedException {
+    int attempts = 0;
+    for(;;) {
+      final /* @Nullable */ E element = this.poll();
+      if(element != null) {
+        return element;
+      }
+      if(Thread.interrupted()) throw new InterruptedException();
+      attempts = strategy.idle(attempts);
+    }
+  }
+
+  /**
+   * Removes all available elements from this queue, passing them to {@code consumer}.
+   *
+   * @param consumer the consumer
+   * @return the number of elements removed
+   */
+  default int drain(final @NonNull Consumer<? super E> consumer) {
+    return this.drain(consumer, this.capacity());
+  }
+
+  /**
+   * Removes up to {@code limit} available elements from this queue, passing them to {@code consumer}.
+   *
+   * @param consumer the consumer
+   * @param limit the maximum number of elements to remove
+   * @return the number of elements removed
+   */
+  int drain(final @NonNull Consumer<? super E> consumer, final int limit);
+
+  /**
+   * Inserts up to {@code limit} elements from {@code supplier} into this queue, stopping once it is full.
+   *
+   * <p>Space is claimed before {@code supplier} is called, so it is called exactly once for each element inserted. As
+   * the space has already been claimed, {@code supplier} must not return {@code null} or throw - a queue with several
+   * producers would be left holding space that is never filled.</p>
+   *
+   * @param supplier the supplier of elements
+   * @param limit the maximum number of elements to insert
+   * @return the number of elements inserted
+   * @throws NullPointerException if {@code supplier} returns {@code null}
+   */
+  int fill(final @NonNull Supplier<? extends E> supplier, final int limit);
+}
@@ -23,7 +23,23 @@
  */
 package net.kyori.mu.concurrent;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import net.kyori.mu.function.ThrowingSupplier;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
@@ -45,4 +61,239 @@ public final class CompletableFutures {
     future.completeExceptionally(throwable);
     return future;
   }
+
+  /**
+   * Returns a completable future that is completed with the results of {@code futures}, in order, once they have all
+   * completed successfully.
+   *
+   * <p>If any future completes exceptionally, the returned future is immediately completed exceptionally with the
+   * same exception, and the remaining futures are cancelled. Cancelling the returned future also cancels the remaining
+   * futures.</p>
+   *
+   * <p>Unlike {@link CompletableFuture#allOf(CompletableFuture[])}, each future has a single dependent registered on
+   * it, and no tree of intermediate futures is built.</p>
+   *
+   * @param futures the futures
+   * @param <T> the result type
+   * @return a completable future of the results
+   */
+  public static <T> @NonNull CompletableFuture<List<T>> allAsList(final @NonNull Collection<? extends CompletableFuture<? extends T>> futures) {
+    final CompletableFuture<? extends T>[] sources = toArray(futures);
+    if(sources.length == 0) {
+      return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+    final CompletableFuture<List<T>> result = new CompletableFuture<>();
+    final Object[] values = new Object[sources.length];
+    final AtomicInteger remaining = new AtomicInteger(sources.length);
+    for(int i = 0; i < sources.length; i++) {
+      final int index = i;
+      sources[i].whenComplete((value, throwable) -> {
+        if(throwable != null) {
+          result.completeExceptionally(unwrap(throwable));
+        } else {
+          values[index] = value;
+          // the decrement publishes our write to whichever thread completes the result
+          if(remaining.decrementAndGet() == 0) {
+            result.complete(CompletableFutures.<T>asList(values));
+          }
+        }
+      });
+    }
+    result.whenComplete((value, throwable) -> {
+      if(throwable != null) {
+        cancel(sources);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Returns a completable future that is completed with the result of the first of {@code futures} to complete
+   * successfully, after which the remaining futures are cancelled.
+   *
+   * <p>If every future completes exceptionally, the returned future is completed exceptionally with a
+   * {@link CompletionException} caused by the first exception, with the others
+   * {@link Throwable#addSuppressed(Throwable) suppressed} on it - the exceptions themselves are never modified. If there
+   * are no futures, the returned future is completed exceptionally with a {@link NoSuchElementException}.</p>
+   *
+   * @param futures the futures
+   * @param <T> the result type
+   * @return a completable future of the first successful result
+   */
+  public static <T> @NonNull CompletableFuture<T> firstSuccessful(final @NonNull Collection<? extends CompletableFuture<? extends T>> futures) {
+    final CompletableFuture<? extends T>[] sources = toArray(futures);
+    if(sources.length == 0) {
+      return completedExceptionally(new NoSuchElementException("no futures to complete"));
+    }
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final AtomicInteger remaining = new AtomicInteger(sources.length);
+    final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+    for(final CompletableFuture<? extends T> source : sources) {
+      source.whenComplete((value, throwable) -> {
+        if(throwable == null) {
+          result.complete(value);
+        } else {
+          failures.offer(unwrap(throwable));
+          if(remaining.decrementAndGet() == 0) {
+            result.completeExceptionally(aggregate("all " + sources.length + " futures failed", failures));
+          }
+        }
+      });
+    }
+    result.whenComplete((value, throwable) -> cancel(sources));
+    return result;
+  }
+
+  /**
+   * Returns a completable future that is completed with the result of the first of up to two attempts to complete
+   * successfully.
+   *
+   * <p>The first attempt is started immediately. If it has not completed after {@code delay}, or completes
+   * exceptionally before then, a second attempt is started, racing the first. Once either attempt completes
+   * successfully, the other is cancelled. This trades a little extra load for lower tail latency. If both attempts
+   * fail, the returned future is completed exceptionally with a {@link CompletionException} caused by the first
+   * failure, with the other suppressed on it.</p>
+   *
+   * @param supplier the supplier of attempts
+   * @param delay the delay before starting a second attempt
+   * @param unit the unit of {@code delay}
+   * @param scheduler the scheduler used to start the second attempt
+   * @param <T> the result type
+   * @return a completable future of the first successful result
+   */
+  public static <T> @NonNull CompletableFuture<T> hedged(final @NonNull Supplier<? extends CompletableFuture<? extends T>> supplier, final long delay, final @NonNull TimeUnit unit, final @NonNull ScheduledExecutorService scheduler) {
+    return new HedgedExecution<T>(supplier).start(delay, unit, scheduler);
+  }
+
+  /**
+   * Returns a completable future that is completed with the result of {@code supplier}, retrying it according to
+   * {@code policy} while it fails.
+   *
+   * <p>Attempts run on {@code scheduler}, and the delays between them are scheduled rather than slept, so no thread is
+   * blocked while waiting to retry. Failures are {@link net.kyori.mu.exception.Exceptions#unwrap(Throwable) unwrapped}
+   * before being classified, and fatal errors such as {@link OutOfMemoryError} are never retried. If every attempt
+   * fails, the returned future is completed exceptionally with a {@link CompletionException} caused by the first
+   * failure, with the others {@link Throwable#addSuppressed(Throwable) suppressed} on it. Cancelling the returned
+   * future cancels any further attempts.</p>
+   *
+   * @param supplier the supplier
+   * @param policy the retry policy
+   * @param scheduler the scheduler used to run attempts
+   * @param <T> the result type
+   * @return a completable future of the result
+   */
+  public static <T> @NonNull CompletableFuture<T> retry(final @NonNull ThrowingSupplier<? extends T, ?> supplier, final @NonNull RetryPolicy policy, final @NonNull ScheduledExecutorService scheduler) {
+    return new RetryExecution<T>(supplier, policy, scheduler).start();
+  }
+
+  /**
+   * Completes {@code future} exceptionally with a {@link TimeoutException} if it has not completed within
+   * {@code timeout}.
+   *
+   * <p>Timeouts are tracked by a single shared timer wheel, with a resolution of one millisecond, rather than by a
+   * scheduled task each. The timeout is cancelled as soon as {@code future} completes. Dependent actions of
+   * {@code future} may run on the timer thread if it times out, so they should be short, or use async variants.</p>
+   *
+   * @param future the future
+   * @param timeout the timeout
+   * @param unit the unit of {@code timeout}
+   * @param <T> the result type
+   * @return {@code future}
+   */
+  public static <T> @NonNull CompletableFuture<T> orTimeout(final @NonNull CompletableFuture<T> future, final long timeout, final @NonNull TimeUnit unit) {
+    if(!future.isDone()) {
+      final TimerWheel.Timeout task = TimerWheel.shared().schedule(() -> future.completeExceptionally(new TimeoutException()), timeout, unit);
+      future.whenComplete((value, throwable) -> task.cancel());
+    }
+    return future;
+  }
+
+  /**
+   * Completes {@code future} with {@code value} if it has not completed within {@code timeout}.
+   *
+   * @param future the future
+   * @param value the value to complete with
+   * @param timeout the timeout
+   * @param unit the unit of {@code timeout}
+   * @param <T> the result type
+   * @return {@code future}
+   * @see #orTimeout(CompletableFuture, long, TimeUnit)
+   */
+  public static <T> @NonNull CompletableFuture<T> completeOnTimeout(final @NonNull CompletableFuture<T> future, final T value, final long timeout, final @NonNull TimeUnit unit) {
+    if(!future.isDone()) {
+      final TimerWheel.Timeout task = TimerWheel.shared().schedule(() -> future.complete(value), timeout, unit);
+      future.whenComplete((result, throwable) -> task.cancel());
+    }
+    return future;
+  }
+
+  /**
+   * Returns a completable future that is completed with {@code null} once {@code delay} has elapsed.
+   *
+   * <p>Cancelling the returned future cancels the delay.</p>
+   *
+   * @param delay the delay
+   * @param unit the unit of {@code delay}
+   * @return a completable future
+   * @see #orTimeout(CompletableFuture, long, TimeUnit)
+   */
+  public static @NonNull CompletableFuture<Void> delayed(final long delay, final @NonNull TimeUnit unit) {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    final TimerWheel.Timeout task = TimerWheel.shared().schedule(() -> future.complete(null), delay, unit);
+    future.whenComplete((value, throwable) -> task.cancel());
+    return future;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> CompletableFuture<? extends T>[] toArray(final Collection<? extends CompletableFuture<? extends T>> futures) {
+    return (CompletableFuture<? extends T>[]) futures.toArray(new CompletableFuture<?>[0]);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> asList(final Object[] values) {
+    return (List<T>) (List<?>) Collections.unmodifiableList(Arrays.asList(values));
+  }
+
+  private static void cancel(final CompletableFuture<?>[] futures) {
+    for(final CompletableFuture<?> future : futures) {
+      future.cancel(false);
+    }
+  }
+
+  /**
+   * Creates an exception caused by the first of {@code failures}, with the others suppressed.
+   *
+   * <p>The failures may be shared - such as a cached failed future - so rather than suppressing the others on the first,
+   * which would grow it with every use, they are collected on a new exception. Repeated failures are only added once.</p>
+   *
+   * @param message the message
+   * @param failures the failures, of which there must be at least one
+   * @return an exception
+   */
+  /* package */ static @NonNull CompletionException aggregate(final @NonNull String message, final @NonNull Iterable<? extends Throwable> failures) {
+    final Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    /* @Nullable */ CompletionException aggregate = null;
+    for(final Throwable failure : failures) {
+      if(!seen.add(failure)) {
+        continue;
+      }
+      if(aggregate == null) {
+        aggregate = new CompletionException(message, failure);
+      } else {
+        aggregate.addSuppressed(failure);
+      }
+    }
+    if(aggregate == null) throw new IllegalArgumentException("no failures");
+    return aggregate;
+  }
+
+  /* package */ static @NonNull Throwable unwrap(final @NonNull Throwable throwable) {
+    if(throwable instanceof CompletionException) {
+      final /* @Nullable */ Throwable cause = throwable.getCause();
+      if(cause != null) {
+        return cause;
+      }
+    }
+    return throwable;
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A collection of methods for working with fork-join pools.
+ */
+public final class ForkJoinPools {
+  private ForkJoinPools() {
+  }
+
+  /**
+   * Creates a fork-join pool with {@code parallelism} daemon worker threads named {@code name-<index>}.
+   *
+   * <p>Use a dedicated pool to isolate heavy parallel work from the {@link ForkJoinPool#commonPool() common pool}.</p>
+   *
+   * @param name the name prefix for worker threads
+   * @param parallelism the parallelism level
+   * @return a new pool
+   * @throws IllegalArgumentException if {@code parallelism} is not positive
+   */
+  public static @NonNull ForkJoinPool create(final @NonNull String name, final int parallelism) {
+    return new ForkJoinPool(parallelism, pool -> {
+      final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName(name + '-' + thread.getPoolIndex());
+      thread.setDaemon(true);
+      return thread;
+    }, null, false);
+  }
+}
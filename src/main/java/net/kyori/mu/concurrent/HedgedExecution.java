@@ -0,0 +1,122 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An execution that races a second, hedging, attempt against the first once a delay has elapsed.
+ *
+ * @see CompletableFutures#hedged(Supplier, long, TimeUnit, ScheduledExecutorService)
+ */
+/* package */ final class HedgedExecution<T> {
+  private final Supplier<? extends CompletableFuture<? extends T>> supplier;
+  private final CompletableFuture<T> result = new CompletableFuture<>();
+  private final AtomicReferenceArray<CompletableFuture<? extends T>> attempts = new AtomicReferenceArray<>(2);
+  private final AtomicBoolean hedged = new AtomicBoolean();
+  // a failed first attempt always starts the second (unless we are already done), so the result only fails once both have failed
+  private final AtomicInteger remaining = new AtomicInteger(2);
+  private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+  private volatile @Nullable ScheduledFuture<?> timer;
+
+  /* package */ HedgedExecution(final Supplier<? extends CompletableFuture<? extends T>> supplier) {
+    this.supplier = supplier;
+  }
+
+  /* package */ CompletableFuture<T> start(final long delay, final TimeUnit unit, final ScheduledExecutorService scheduler) {
+    this.result.whenComplete((value, throwable) -> this.cancel());
+    this.attempt(0);
+    if(!this.result.isDone()) {
+      try {
+        this.timer = scheduler.schedule(this::hedge, delay, unit);
+      } catch(final Throwable t) {
+        // we can't hedge later, so hedge now
+        this.hedge();
+      }
+      if(this.result.isDone()) {
+        // we may have completed before the timer was visible to cancel
+        this.cancel();
+      }
+    }
+    return this.result;
+  }
+
+  private void hedge() {
+    if(!this.result.isDone() && this.hedged.compareAndSet(false, true)) {
+      this.attempt(1);
+    }
+  }
+
+  private void attempt(final int index) {
+    CompletableFuture<? extends T> attempt;
+    try {
+      attempt = this.supplier.get();
+    } catch(final Throwable t) {
+      attempt = CompletableFutures.completedExceptionally(t);
+    }
+    this.attempts.set(index, attempt);
+    if(this.result.isDone()) {
+      attempt.cancel(false);
+      return;
+    }
+    attempt.whenComplete((value, throwable) -> {
+      if(throwable == null) {
+        this.result.complete(value);
+        return;
+      }
+      this.failures.offer(CompletableFutures.unwrap(throwable));
+      try {
+        // don't wait for the delay if the first attempt has already failed
+        this.hedge();
+      } finally {
+        if(this.remaining.decrementAndGet() == 0) {
+          this.result.completeExceptionally(CompletableFutures.aggregate("both attempts failed", this.failures));
+        }
+      }
+    });
+  }
+
+  private void cancel() {
+    final /* @Nullable */ ScheduledFuture<?> timer = this.timer;
+    if(timer != null) {
+      timer.cancel(false);
+    }
+    for(int i = 0; i < 2; i++) {
+      final /* @Nullable */ CompletableFuture<? extends T> attempt = this.attempts.get(i);
+      if(attempt != null) {
+        attempt.cancel(false);
+      }
+    }
+  }
+}
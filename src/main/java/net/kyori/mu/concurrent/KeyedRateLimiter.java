@@ -0,0 +1,84 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A rate limiter per key, such as per player or per remote address.
+ *
+ * @param <K> the key type
+ */
+public interface KeyedRateLimiter<K> {
+  /**
+   * Creates a keyed rate limiter, which creates a limiter for each key with {@code factory}.
+   *
+   * <p>Once more than {@code maxKeys} limiters are held, the longest idle limiters are discarded, and will be created
+   * afresh if their key is used again. Only limiters with every permit available are discarded, so that discarding a
+   * limiter never resets its quota - while more than {@code maxKeys} keys have permits in use, all are retained.</p>
+   *
+   * @param factory the limiter factory
+   * @param maxKeys the maximum number of limiters to retain
+   * @param <K> the key type
+   * @return a keyed rate limiter
+   * @throws IllegalArgumentException if {@code maxKeys} is not positive
+   */
+  static <K> @NonNull KeyedRateLimiter<K> create(final @NonNull Function<? super K, ? extends RateLimiter> factory, final int maxKeys) {
+    return new KeyedRateLimiterImpl<>(factory, maxKeys, System::nanoTime);
+  }
+
+  /**
+   * Gets the limiter for {@code key}.
+   *
+   * @param key the key
+   * @return the limiter
+   */
+  @NonNull RateLimiter limiter(final @NonNull K key);
+
+  /**
+   * Attempts to acquire {@code permits} for {@code key}, without waiting.
+   *
+   * @param key the key
+   * @param permits the number of permits
+   * @return {@code true} if the permits were acquired
+   * @see RateLimiter#tryAcquire(int)
+   */
+  default boolean tryAcquire(final @NonNull K key, final int permits) {
+    return this.limiter(key).tryAcquire(permits);
+  }
+
+  /**
+   * Acquires {@code permits} for {@code key}, once available.
+   *
+   * @param key the key
+   * @param permits the number of permits
+   * @return a future completed once the permits have been acquired
+   * @see RateLimiter#acquire(int)
+   */
+  default @NonNull CompletableFuture<Void> acquire(final @NonNull K key, final int permits) {
+    return this.limiter(key).acquire(permits);
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A keyed rate limiter backed by a concurrent map.
+ *
+ * <p>Looking up an existing limiter takes no lock. Once more than {@code maxKeys} limiters are held, the thread that
+ * inserted the latest one sweeps the map, discarding the longest idle limiters that are {@link RateLimiter#isFull() full}
+ * until only three quarters of {@code maxKeys} remain. A limiter with permits in use is never discarded, as recreating
+ * it would reset its quota - so {@code maxKeys} is a soft bound. When a sweep can't get back down, the next waits until
+ * another quarter of {@code maxKeys} have been inserted, keeping the cost of sweeping linear in the keys inserted.</p>
+ */
+/* package */ final class KeyedRateLimiterImpl<K> implements KeyedRateLimiter<K> {
+  private final Function<? super K, ? extends RateLimiter> factory;
+  private final int maxKeys;
+  private final int retainedKeys;
+  private final int slack;
+  private final LongSupplier clock;
+  private final ConcurrentMap<K, Entry> limiters = new ConcurrentHashMap<>();
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+  private volatile int sweepAbove;
+
+  /* package */ KeyedRateLimiterImpl(final Function<? super K, ? extends RateLimiter> factory, final int maxKeys, final LongSupplier clock) {
+    if(maxKeys <= 0) throw new IllegalArgumentException("maxKeys must be positive: " + maxKeys);
+    this.factory = factory;
+    this.maxKeys = maxKeys;
+    this.retainedKeys = maxKeys - (maxKeys >> 2);
+    this.slack = Math.max(1, maxKeys >> 2);
+    this.sweepAbove = maxKeys;
+    this.clock = clock;
+  }
+
+  @Override
+  public @NonNull RateLimiter limiter(final @NonNull K key) {
+    final long now = this.clock.getAsLong();
+    // get first - computeIfAbsent locks the bin even when the key is present
+    /* @Nullable */ Entry entry = this.limiters.get(key);
+    if(entry == null) {
+      final Entry created = new Entry(this.factory.apply(key), now);
+      entry = this.limiters.putIfAbsent(key, created);
+      if(entry == null) {
+        if(this.limiters.size() > this.sweepAbove) {
+          this.sweep(created);
+        }
+        return created.limiter;
+      }
+    }
+    if(entry.accessed != now) {
+      entry.accessed = now;
+    }
+    return entry.limiter;
+  }
+
+  private void sweep(final Entry inserted) {
+    if(!this.sweeping.compareAndSet(false, true)) {
+      // someone else is already sweeping
+      return;
+    }
+    try {
+      final int excess = this.limiters.size() - this.retainedKeys;
+      if(excess <= 0) {
+        return;
+      }
+      final List<Map.Entry<K, Entry>> candidates = new ArrayList<>();
+      for(final Map.Entry<K, Entry> entry : this.limiters.entrySet()) {
+        // the limiter just inserted is about to be used, so leave it be
+        if(entry.getValue() != inserted && entry.getValue().limiter.isFull()) {
+          candidates.add(entry);
+        }
+      }
+      // snapshot access times, so the cutoff and the comparisons against it agree
+      final int size = candidates.size();
+      final long[] accessed = new long[size];
+      for(int i = 0; i < size; i++) {
+        accessed[i] = candidates.get(i).getValue().accessed;
+      }
+      final long cutoff = size > excess ? select(accessed.clone(), excess - 1) : Long.MAX_VALUE;
+      int remaining = excess;
+      // remove those accessed strictly before the cutoff first, then ties until enough are gone
+      for(int pass = 0; pass < 2 && remaining > 0; pass++) {
+        for(int i = 0; i < size && remaining > 0; i++) {
+          if(pass == 0 ? accessed[i] < cutoff : accessed[i] == cutoff) {
+            if(this.removeIfFull(candidates.get(i).getKey(), candidates.get(i).getValue())) {
+              remaining--;
+            }
+          }
+        }
+      }
+      final int left = this.limiters.size();
+      // if too many limiters are in use to get back down, don't sweep again until enough new keys arrive to pay for it
+      this.sweepAbove = left <= this.retainedKeys ? this.maxKeys : Math.max(this.maxKeys, left + this.slack);
+    } finally {
+      this.sweeping.set(false);
+    }
+  }
+
+  private boolean removeIfFull(final K key, final Entry entry) {
+    final boolean[] removed = new boolean[1];
+    // permits may have been acquired since we looked - checking under the bin lock means a limiter in use is never
+    // removed, and no other limiter for the key can be created while we decide
+    this.limiters.computeIfPresent(key, (k, current) -> {
+      if(current == entry && entry.limiter.isFull()) {
+        removed[0] = true;
+        return null;
+      }
+      return current;
+    });
+    return removed[0];
+  }
+
+  /**
+   * Finds the {@code k}th smallest value, partially reordering {@code values}.
+   *
+   * @param values the values
+   * @param k the index of the value in sorted order
+   * @return the value
+   */
+  private static long select(final long[] values, final int k) {
+    int left = 0;
+    int right = values.length - 1;
+    while(left < right) {
+      final long pivot = values[(left + right) >>> 1];
+      int i = left;
+      int j = right;
+      while(i <= j) {
+        while(values[i] < pivot) {
+          i++;
+        }
+        while(values[j] > pivot) {
+          j--;
+        }
+        if(i <= j) {
+          final long value = values[i];
+          values[i] = values[j];
+          values[j] = value;
+          i++;
+          j--;
+        }
+      }
+      if(k <= j) {
+        right = j;
+      } else if(k >= i) {
+        left = i;
+      } else {
+        return values[k];
+      }
+    }
+    return values[k];
+  }
+
+  private static final class Entry {
+    final RateLimiter limiter;
+    // only used to order eviction, so a stale read is harmless
+    volatile long accessed;
+
+    Entry(final RateLimiter limiter, final long accessed) {
+      this.limiter = limiter;
+      this.accessed = accessed;
+    }
+  }
+}
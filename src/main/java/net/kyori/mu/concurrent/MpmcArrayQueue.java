@@ -0,0 +1,118 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A multi-producer, multi-consumer queue.
+ *
+ * <p>Each slot carries a sequence number recording which lap of the ring buffer it is ready for: a slot at position
+ * {@code p} may be written when its sequence is {@code p}, and read when its sequence is {@code p + 1}. Producers and
+ * consumers claim positions by advancing their index, and then publish by advancing the slot's sequence.</p>
+ */
+/* package */ final class MpmcArrayQueue<E> extends AbstractBoundedQueue<E> {
+  private final AtomicLongArray sequences;
+
+  /* package */ MpmcArrayQueue(final int capacity) {
+    super(capacity);
+    final int length = this.capacity();
+    this.sequences = new AtomicLongArray(length);
+    for(int i = 0; i < length; i++) {
+      this.sequences.lazySet(i, i);
+    }
+  }
+
+  @Override
+  public boolean offer(final @NonNull E element) {
+    requireNonNull(element, "element");
+    for(;;) {
+      final long producerIndex = this.producerIndex();
+      final int index = this.index(producerIndex);
+      final long sequence = this.sequences.get(index);
+      if(sequence < producerIndex) {
+        // the slot still holds an element from the previous lap
+        return false;
+      }
+      if(sequence == producerIndex && this.casProducerIndex(producerIndex, producerIndex + 1)) {
+        this.buffer.lazySet(index, element);
+        this.sequences.lazySet(index, producerIndex + 1);
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public @Nullable E poll() {
+    for(;;) {
+      final long consumerIndex = this.consumerIndex();
+      final int index = this.index(consumerIndex);
+      final long sequence = this.sequences.get(index);
+      final long ready = consumerIndex + 1;
+      if(sequence < ready) {
+        // the slot has not been written for this lap
+        return null;
+      }
+      if(sequence == ready && this.casConsumerIndex(consumerIndex, ready)) {
+        final E element = this.buffer.get(index);
+        this.buffer.lazySet(index, null);
+        this.sequences.lazySet(index, consumerIndex + this.capacity());
+        return element;
+      }
+    }
+  }
+
+  @Override
+  public int fill(final @NonNull Supplier<? extends E> supplier, final int limit) {
+    for(;;) {
+      final long producerIndex = this.producerIndex();
+      // only the producer claiming a position may advance its sequence, so slots seen to be ready stay ready until claimed
+      int claimed = 0;
+      while(claimed < limit && this.sequences.get(this.index(producerIndex + claimed)) == producerIndex + claimed) {
+        claimed++;
+      }
+      if(claimed == 0) {
+        if(limit <= 0 || this.sequences.get(this.index(producerIndex)) < producerIndex) {
+          return 0;
+        }
+        // another producer claimed this position - retry
+        continue;
+      }
+      if(this.casProducerIndex(producerIndex, producerIndex + claimed)) {
+        for(int i = 0; i < claimed; i++) {
+          final long position = producerIndex + i;
+          final int index = this.index(position);
+          this.buffer.lazySet(index, requireNonNull(supplier.get(), "element"));
+          this.sequences.lazySet(index, position + 1);
+        }
+        return claimed;
+      }
+    }
+  }
+}
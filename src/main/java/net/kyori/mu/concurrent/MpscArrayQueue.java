@@ -0,0 +1,118 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A multi-producer, single-consumer queue.
+ *
+ * <p>Producers claim a slot by advancing the producer index, and only then store their element - so the consumer may
+ * briefly see a claimed slot that is still {@code null}, and must wait for its producer to finish.</p>
+ */
+/* package */ final class MpscArrayQueue<E> extends AbstractBoundedQueue<E> {
+  /* package */ MpscArrayQueue(final int capacity) {
+    super(capacity);
+  }
+
+  @Override
+  public boolean offer(final @NonNull E element) {
+    requireNonNull(element, "element");
+    final int capacity = this.capacity();
+    long producerIndex;
+    do {
+      producerIndex = this.producerIndex();
+      if(producerIndex - this.consumerIndex() >= capacity) {
+        return false;
+      }
+    } while(!this.casProducerIndex(producerIndex, producerIndex + 1));
+    this.buffer.lazySet(this.index(producerIndex), element);
+    return true;
+  }
+
+  @Override
+  public @Nullable E poll() {
+    final long consumerIndex = this.consumerIndex();
+    final int index = this.index(consumerIndex);
+    /* @Nullable */ E element = this.buffer.get(index);
+    if(element == null) {
+      if(consumerIndex == this.producerIndex()) {
+        return null;
+      }
+      // the slot has been claimed, but its element has not been stored yet
+      do {
+        element = this.buffer.get(index);
+      } while(element == null);
+    }
+    this.buffer.lazySet(index, null);
+    this.lazySetConsumerIndex(consumerIndex + 1);
+    return element;
+  }
+
+  @Override
+  public int drain(final @NonNull Consumer<? super E> consumer, final int limit) {
+    final long consumerIndex = this.consumerIndex();
+    int drained = 0;
+    while(drained < limit) {
+      final int index = this.index(consumerIndex + drained);
+      // stop at a slot that is still being stored rather than waiting, as draining is best-effort
+      final /* @Nullable */ E element = this.buffer.get(index);
+      if(element == null) {
+        break;
+      }
+      this.buffer.lazySet(index, null);
+      drained++;
+      this.lazySetConsumerIndex(consumerIndex + drained);
+      consumer.accept(element);
+    }
+    return drained;
+  }
+
+  @Override
+  public int fill(final @NonNull Supplier<? extends E> supplier, final int limit) {
+    if(limit <= 0) {
+      return 0;
+    }
+    final int capacity = this.capacity();
+    long producerIndex;
+    int claimed;
+    do {
+      producerIndex = this.producerIndex();
+      final long available = capacity - (producerIndex - this.consumerIndex());
+      if(available <= 0) {
+        return 0;
+      }
+      claimed = (int) Math.min(limit, available);
+    } while(!this.casProducerIndex(producerIndex, producerIndex + claimed));
+    for(int i = 0; i < claimed; i++) {
+      this.buffer.lazySet(this.index(producerIndex + i), requireNonNull(supplier.get(), "element"));
+    }
+    return claimed;
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/*
+ * Name is prefixed with 'Mu' to avoid conflict with java.util.concurrent.Flow
+ */
+
+/**
+ * Interfaces for establishing flow-controlled components, in which {@link Publisher publishers} produce items
+ * consumed by one or more {@link Subscriber subscribers}, each managed by a {@link Subscription subscription}.
+ *
+ * <p>These interfaces mirror {@code java.util.concurrent.Flow} method-for-method, which is not available on
+ * Java 8. Components written against them can be adapted to their {@code java.util.concurrent.Flow} counterparts
+ * with a simple delegating wrapper.</p>
+ */
+public final class MuFlow {
+  private MuFlow() {
+  }
+
+  /**
+   * A producer of items received by subscribers.
+   *
+   * @param <T> the item type
+   */
+  @FunctionalInterface
+  public interface Publisher<T> {
+    /**
+     * Adds {@code subscriber}, if possible.
+     *
+     * @param subscriber the subscriber
+     */
+    void subscribe(final @NonNull Subscriber<? super T> subscriber);
+  }
+
+  /**
+   * A receiver of items.
+   *
+   * @param <T> the item type
+   */
+  public interface Subscriber<T> {
+    /**
+     * Invoked prior to invoking any other method of this subscriber.
+     *
+     * @param subscription the subscription
+     */
+    void onSubscribe(final @NonNull Subscription subscription);
+
+    /**
+     * Invoked with the next item of the subscription.
+     *
+     * @param item the item
+     */
+    void onNext(final @NonNull T item);
+
+    /**
+     * Invoked upon an unrecoverable error, after which no other methods are invoked.
+     *
+     * @param throwable the error
+     */
+    void onError(final @NonNull Throwable throwable);
+
+    /**
+     * Invoked when no further items will be received.
+     */
+    void onComplete();
+  }
+
+  /**
+   * A link between a publisher and a subscriber.
+   */
+  public interface Subscription {
+    /**
+     * Adds {@code n} items to the current unfulfilled demand for this subscription.
+     *
+     * @param n the number of items, which must be positive
+     */
+    void request(final long n);
+
+    /**
+     * Causes the subscriber to (eventually) stop receiving items.
+     */
+    void cancel();
+  }
+}
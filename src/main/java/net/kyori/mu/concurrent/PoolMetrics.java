@@ -0,0 +1,138 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A point-in-time snapshot of the metrics of a {@link ForkJoinPool}.
+ */
+public final class PoolMetrics implements Examinable {
+  private final int parallelism;
+  private final int poolSize;
+  private final int activeThreadCount;
+  private final long queuedTaskCount;
+  private final int queuedSubmissionCount;
+  private final long stealCount;
+
+  /**
+   * Takes a snapshot of the metrics of {@code pool}.
+   *
+   * @param pool the pool
+   * @return a snapshot of the metrics
+   */
+  public static @NonNull PoolMetrics of(final @NonNull ForkJoinPool pool) {
+    return new PoolMetrics(pool.getParallelism(), pool.getPoolSize(), pool.getActiveThreadCount(), pool.getQueuedTaskCount(), pool.getQueuedSubmissionCount(), pool.getStealCount());
+  }
+
+  private PoolMetrics(final int parallelism, final int poolSize, final int activeThreadCount, final long queuedTaskCount, final int queuedSubmissionCount, final long stealCount) {
+    this.parallelism = parallelism;
+    this.poolSize = poolSize;
+    this.activeThreadCount = activeThreadCount;
+    this.queuedTaskCount = queuedTaskCount;
+    this.queuedSubmissionCount = queuedSubmissionCount;
+    this.stealCount = stealCount;
+  }
+
+  /**
+   * Gets the target parallelism level of the pool.
+   *
+   * @return the parallelism level
+   * @see ForkJoinPool#getParallelism()
+   */
+  public int parallelism() {
+    return this.parallelism;
+  }
+
+  /**
+   * Gets the number of worker threads that have started but not yet terminated.
+   *
+   * @return the number of worker threads
+   * @see ForkJoinPool#getPoolSize()
+   */
+  public int poolSize() {
+    return this.poolSize;
+  }
+
+  /**
+   * Gets an estimate of the number of threads that are stealing or executing tasks.
+   *
+   * @return the number of active threads
+   * @see ForkJoinPool#getActiveThreadCount()
+   */
+  public int activeThreadCount() {
+    return this.activeThreadCount;
+  }
+
+  /**
+   * Gets an estimate of the number of tasks queued by worker threads.
+   *
+   * @return the number of queued tasks
+   * @see ForkJoinPool#getQueuedTaskCount()
+   */
+  public long queuedTaskCount() {
+    return this.queuedTaskCount;
+  }
+
+  /**
+   * Gets an estimate of the number of tasks submitted to the pool that have not yet begun executing.
+   *
+   * @return the number of queued submissions
+   * @see ForkJoinPool#getQueuedSubmissionCount()
+   */
+  public int queuedSubmissionCount() {
+    return this.queuedSubmissionCount;
+  }
+
+  /**
+   * Gets an estimate of the total number of tasks stolen from one thread's work queue by another.
+   *
+   * @return the number of stolen tasks
+   * @see ForkJoinPool#getStealCount()
+   */
+  public long stealCount() {
+    return this.stealCount;
+  }
+
+  @Override
+  public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return Stream.of(
+      ExaminableProperty.of("parallelism", this.parallelism),
+      ExaminableProperty.of("poolSize", this.poolSize),
+      ExaminableProperty.of("activeThreadCount", this.activeThreadCount),
+      ExaminableProperty.of("queuedTaskCount", this.queuedTaskCount),
+      ExaminableProperty.of("queuedSubmissionCount", this.queuedSubmissionCount),
+      ExaminableProperty.of("stealCount", this.stealCount)
+    );
+  }
+
+  @Override
+  public String toString() {
+    return "PoolMetrics{parallelism=" + this.parallelism + ", poolSize=" + this.poolSize + ", activeThreadCount=" + this.activeThreadCount + ", queuedTaskCount=" + this.queuedTaskCount + ", queuedSubmissionCount=" + this.queuedSubmissionCount + ", stealCount=" + this.stealCount + '}';
+  }
+}
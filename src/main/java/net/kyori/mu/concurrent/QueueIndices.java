@@ -0,0 +1,87 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * The producer and consumer indices of a {@link BoundedQueue}, padded onto separate cache lines.
+ *
+ * <p>Producers and consumers write to their own index constantly - if both indices shared a cache line, every write
+ * by one side would invalidate the line for the other (false sharing). The JVM is free to reorder fields within a
+ * class, but lays out superclass fields before subclass fields, so the padding is spread across a class hierarchy.</p>
+ */
+/* package */ final class QueueIndices {
+  private QueueIndices() {
+  }
+
+  @SuppressWarnings("unused")
+  /* package */ abstract static class HeadPadding {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+  }
+
+  /* package */ abstract static class ProducerIndex extends HeadPadding {
+    private static final AtomicLongFieldUpdater<ProducerIndex> PRODUCER_INDEX = AtomicLongFieldUpdater.newUpdater(ProducerIndex.class, "producerIndex");
+    private volatile long producerIndex;
+
+    /* package */ final long producerIndex() {
+      return this.producerIndex;
+    }
+
+    /* package */ final boolean casProducerIndex(final long expect, final long update) {
+      return PRODUCER_INDEX.compareAndSet(this, expect, update);
+    }
+
+    /* package */ final void lazySetProducerIndex(final long index) {
+      PRODUCER_INDEX.lazySet(this, index);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  /* package */ abstract static class MiddlePadding extends ProducerIndex {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+  }
+
+  /* package */ abstract static class ConsumerIndex extends MiddlePadding {
+    private static final AtomicLongFieldUpdater<ConsumerIndex> CONSUMER_INDEX = AtomicLongFieldUpdater.newUpdater(ConsumerIndex.class, "consumerIndex");
+    private volatile long consumerIndex;
+
+    /* package */ final long consumerIndex() {
+      return this.consumerIndex;
+    }
+
+    /* package */ final boolean casConsumerIndex(final long expect, final long update) {
+      return CONSUMER_INDEX.compareAndSet(this, expect, update);
+    }
+
+    /* package */ final void lazySetConsumerIndex(final long index) {
+      CONSUMER_INDEX.lazySet(this, index);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  /* package */ abstract static class TailPadding extends ConsumerIndex {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A lock-free rate limiter.
+ *
+ * <p>Limiters do not refill on a timer - instead, their state is brought up to date from a clock whenever permits are
+ * acquired, so an idle limiter costs nothing.</p>
+ */
+public interface RateLimiter {
+  /**
+   * Creates a token bucket rate limiter, which permits {@code permits} per {@code period} on average, with bursts of up
+   * to {@code burst} permits.
+   *
+   * @param permits the number of permits per period
+   * @param period the period
+   * @param unit the unit of {@code period}
+   * @param burst the maximum number of permits that may be acquired at once, and the number initially available
+   * @return a rate limiter
+   * @throws IllegalArgumentException if any argument is not positive
+   */
+  static @NonNull RateLimiter tokenBucket(final long permits, final long period, final @NonNull TimeUnit unit, final int burst) {
+    return tokenBucket(permits, period, unit, burst, System::nanoTime);
+  }
+
+  /**
+   * Creates a token bucket rate limiter, which permits {@code permits} per {@code period} on average, with bursts of up
+   * to {@code burst} permits.
+   *
+   * <p>The bucket is implemented with the generic cell rate algorithm, tracking only the theoretical arrival time of
+   * the next permit in a single {@code long} - so acquiring is one compare-and-set, and refilling is implicit.</p>
+   *
+   * @param permits the number of permits per period
+   * @param period the period
+   * @param unit the unit of {@code period}
+   * @param burst the maximum number of permits that may be acquired at once, and the number initially available
+   * @param clock the clock, in nanoseconds
+   * @return a rate limiter
+   * @throws IllegalArgumentException if any argument is not positive
+   */
+  static @NonNull RateLimiter tokenBucket(final long permits, final long period, final @NonNull TimeUnit unit, final int burst, final @NonNull LongSupplier clock) {
+    return new TokenBucketRateLimiter(permits, unit.toNanos(period), burst, clock);
+  }
+
+  /**
+   * Creates a sliding window rate limiter, which permits up to {@code permits} within any {@code window}.
+   *
+   * @param permits the number of permits per window
+   * @param window the window
+   * @param unit the unit of {@code window}
+   * @return a rate limiter
+   * @throws IllegalArgumentException if any argument is not positive, or {@code permits} is too large
+   */
+  static @NonNull RateLimiter slidingWindow(final int permits, final long window, final @NonNull TimeUnit unit) {
+    return slidingWindow(permits, window, unit, System::nanoTime);
+  }
+
+  /**
+   * Creates a sliding window rate limiter, which permits up to {@code permits} within any {@code window}.
+   *
+   * <p>The window is approximated from the counts of the current and previous fixed windows, weighting the previous
+   * count by how much of it still overlaps the sliding window. Both counts and the current window are packed into a
+   * single {@code long}, which limits {@code permits} to {@code 4194303}.</p>
+   *
+   * @param permits the number of permits per window
+   * @param window the window
+   * @param unit the unit of {@code window}
+   * @param clock the clock, in nanoseconds
+   * @return a rate limiter
+   * @throws IllegalArgumentException if any argument is not positive, or {@code permits} is too large
+   */
+  static @NonNull RateLimiter slidingWindow(final int permits, final long window, final @NonNull TimeUnit unit, final @NonNull LongSupplier clock) {
+    return new SlidingWindowRateLimiter(permits, unit.toNanos(window), clock);
+  }
+
+  /**
+   * Returns {@code true} if every permit is available, as it would be for a newly created limiter.
+   *
+   * @return {@code true} if every permit is available
+   */
+  boolean isFull();
+
+  /**
+   * Attempts to acquire a permit, without waiting.
+   *
+   * @return {@code true} if the permit was acquired
+   */
+  default boolean tryAcquire() {
+    return this.tryAcquire(1);
+  }
+
+  /**
+   * Attempts to acquire {@code permits}, without waiting.
+   *
+   * @param permits the number of permits
+   * @return {@code true} if the permits were acquired
+   * @throws IllegalArgumentException if {@code permits} is not positive, or more than can ever be acquired at once
+   */
+  boolean tryAcquire(final int permits);
+
+  /**
+   * Acquires a permit, once available.
+   *
+   * @return a future completed once the permit has been acquired
+   */
+  default @NonNull CompletableFuture<Void> acquire() {
+    return this.acquire(1);
+  }
+
+  /**
+   * Acquires {@code permits}, once available.
+   *
+   * <p>No thread is blocked while waiting - the returned future is completed by a shared timer.</p>
+   *
+   * @param permits the number of permits
+   * @return a future completed once the permits have been acquired
+   * @throws IllegalArgumentException if {@code permits} is not positive, or more than can ever be acquired at once
+   */
+  @NonNull CompletableFuture<Void> acquire(final int permits);
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A budget limiting retries to a fraction of initial attempts.
+ *
+ * <p>When a dependency fails, every caller retrying it multiplies the load on it. Sharing one budget between all
+ * callers of a dependency bounds that amplification: each initial attempt deposits {@code ratio} of a retry into the
+ * budget, and each retry withdraws a whole one, so once the budget is exhausted retries stop until enough new
+ * requests arrive.</p>
+ */
+public final class RetryBudget {
+  // balances are kept in thousandths of a retry, so fractional deposits don't need floating point
+  private static final long SCALE = 1000;
+  private static final RetryBudget UNLIMITED = new RetryBudget(0, Long.MAX_VALUE);
+  private final long deposit;
+  private final long capacity;
+  private final AtomicLong balance;
+
+  /**
+   * Creates a retry budget.
+   *
+   * @param ratio the number of retries earned by each initial attempt, such as {@code 0.1} for one retry per ten attempts
+   * @param burst the maximum number of retries that may be banked, and the number initially available
+   * @return a retry budget
+   * @throws IllegalArgumentException if {@code ratio} is negative, or {@code burst} is not positive
+   */
+  public static @NonNull RetryBudget of(final double ratio, final int burst) {
+    if(!(ratio >= 0)) throw new IllegalArgumentException("ratio must not be negative: " + ratio);
+    if(burst <= 0) throw new IllegalArgumentException("burst must be positive: " + burst);
+    return new RetryBudget((long) (ratio * SCALE), burst * SCALE);
+  }
+
+  /**
+   * Gets a retry budget that never runs out.
+   *
+   * @return a retry budget
+   */
+  public static @NonNull RetryBudget unlimited() {
+    return UNLIMITED;
+  }
+
+  private RetryBudget(final long deposit, final long capacity) {
+    this.deposit = deposit;
+    this.capacity = capacity;
+    this.balance = new AtomicLong(capacity);
+  }
+
+  /**
+   * Records an initial attempt, earning a fraction of a retry.
+   */
+  public void deposit() {
+    if(this.deposit == 0) {
+      return;
+    }
+    final long capacity = this.capacity;
+    final long deposit = this.deposit;
+    this.balance.accumulateAndGet(deposit, (balance, amount) -> Math.min(capacity, balance + amount));
+  }
+
+  /**
+   * Attempts to spend a retry.
+   *
+   * @return {@code true} if a retry was available
+   */
+  public boolean tryWithdraw() {
+    if(this == UNLIMITED) {
+      return true;
+    }
+    for(;;) {
+      final long balance = this.balance.get();
+      if(balance < SCALE) {
+        return false;
+      }
+      if(this.balance.compareAndSet(balance, balance - SCALE)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of whole retries currently available.
+   *
+   * @return the number of retries
+   */
+  public long available() {
+    return this == UNLIMITED ? Long.MAX_VALUE : this.balance.get() / SCALE;
+  }
+
+  @Override
+  public String toString() {
+    return this == UNLIMITED ? "RetryBudget{unlimited}" : "RetryBudget{available=" + this.available() + '}';
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import net.kyori.mu.exception.Exceptions;
+import net.kyori.mu.function.ThrowingSupplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An execution that re-runs a supplier on a scheduler until it succeeds, or its retry policy gives up.
+ *
+ * @see CompletableFutures#retry(ThrowingSupplier, RetryPolicy, ScheduledExecutorService)
+ */
+/* package */ final class RetryExecution<T> implements Runnable {
+  private final ThrowingSupplier<? extends T, ?> supplier;
+  private final RetryPolicy policy;
+  private final ScheduledExecutorService scheduler;
+  private final CompletableFuture<T> result = new CompletableFuture<>();
+  private final List<Throwable> failures = new ArrayList<>();
+  private int attempts;
+  private long delay;
+  private volatile @Nullable ScheduledFuture<?> next;
+
+  /* package */ RetryExecution(final ThrowingSupplier<? extends T, ?> supplier, final RetryPolicy policy, final ScheduledExecutorService scheduler) {
+    this.supplier = supplier;
+    this.policy = policy;
+    this.scheduler = scheduler;
+  }
+
+  /* package */ CompletableFuture<T> start() {
+    this.result.whenComplete((value, throwable) -> {
+      final /* @Nullable */ ScheduledFuture<?> next = this.next;
+      if(next != null) {
+        next.cancel(false);
+      }
+    });
+    this.policy.budget().deposit();
+    try {
+      this.scheduler.execute(this);
+    } catch(final Throwable t) {
+      this.result.completeExceptionally(t);
+    }
+    return this.result;
+  }
+
+  @Override
+  public void run() {
+    // attempts run one at a time, each scheduled by the last, so our fields need no further synchronization
+    if(this.result.isDone()) {
+      return;
+    }
+    this.attempts++;
+    try {
+      this.result.complete(this.supplier.throwingGet());
+      return;
+    } catch(final Throwable t) {
+      try {
+        Exceptions.throwIfFatal(t);
+      } catch(final Error e) {
+        // there's no recovering from these, so don't retry - but don't leave the result hanging either
+        this.result.completeExceptionally(e);
+        throw e;
+      }
+      final Throwable cause = CompletableFutures.unwrap(Exceptions.unwrap(t));
+      this.failures.add(cause);
+      if(this.attempts >= this.policy.maxAttempts() || !this.policy.isRetryable(cause) || !this.policy.budget().tryWithdraw()) {
+        this.fail();
+        return;
+      }
+    }
+    this.delay = this.policy.nextDelay(this.delay);
+    try {
+      this.next = this.scheduler.schedule(this, this.delay, TimeUnit.NANOSECONDS);
+    } catch(final Throwable t) {
+      this.failures.add(t);
+      this.fail();
+    }
+  }
+
+  private void fail() {
+    this.result.completeExceptionally(CompletableFutures.aggregate("gave up after " + this.attempts + " attempts", this.failures));
+  }
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A policy describing when, and how long after a failure, to retry an operation.
+ *
+ * <p>Delays grow exponentially with decorrelated jitter: each delay is chosen at random between the base delay and
+ * three times the previous delay, capped at the maximum delay. Randomising delays this way spreads out retries from
+ * callers that failed at the same moment, rather than having them retry in lock-step.</p>
+ *
+ * @see CompletableFutures#retry(net.kyori.mu.function.ThrowingSupplier, RetryPolicy, java.util.concurrent.ScheduledExecutorService)
+ */
+public final class RetryPolicy implements Examinable {
+  private static final Predicate<Throwable> DEFAULT_RETRYABLE = throwable -> throwable instanceof Exception && !(throwable instanceof CancellationException);
+  private final int maxAttempts;
+  private final long baseDelay;
+  private final long maxDelay;
+  private final Predicate<? super Throwable> retryable;
+  private final RetryBudget budget;
+
+  /**
+   * Creates a retry policy with exponential backoff and decorrelated jitter.
+   *
+   * <p>By default, any {@link Exception} other than a {@link CancellationException} is retried, and retries are not
+   * limited by a budget.</p>
+   *
+   * @param maxAttempts the maximum number of attempts, including the first
+   * @param baseDelay the minimum delay between attempts
+   * @param maxDelay the maximum delay between attempts
+   * @param unit the unit of {@code baseDelay} and {@code maxDelay}
+   * @return a retry policy
+   * @throws IllegalArgumentException if {@code maxAttempts} or {@code baseDelay} is not positive, or {@code maxDelay} is less than {@code baseDelay}
+   */
+  public static @NonNull RetryPolicy exponential(final int maxAttempts, final long baseDelay, final long maxDelay, final @NonNull TimeUnit unit) {
+    if(maxAttempts <= 0) throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+    if(baseDelay <= 0) throw new IllegalArgumentException("baseDelay must be positive: " + baseDelay);
+    if(maxDelay < baseDelay) throw new IllegalArgumentException("maxDelay must not be less than baseDelay: " + maxDelay);
+    return new RetryPolicy(maxAttempts, unit.toNanos(baseDelay), unit.toNanos(maxDelay), DEFAULT_RETRYABLE, RetryBudget.unlimited());
+  }
+
+  private RetryPolicy(final int maxAttempts, final long baseDelay, final long maxDelay, final Predicate<? super Throwable> retryable, final RetryBudget budget) {
+    this.maxAttempts = maxAttempts;
+    this.baseDelay = baseDelay;
+    this.maxDelay = maxDelay;
+    this.retryable = retryable;
+    this.budget = budget;
+  }
+
+  /**
+   * Creates a copy of this policy that only retries failures matching {@code retryable}.
+   *
+   * <p>Failures are {@link net.kyori.mu.exception.Exceptions#unwrap(Throwable) unwrapped} before being tested.</p>
+   *
+   * @param retryable the predicate
+   * @return a retry policy
+   */
+  public @NonNull RetryPolicy retryIf(final @NonNull Predicate<? super Throwable> retryable) {
+    return new RetryPolicy(this.maxAttempts, this.baseDelay, this.maxDelay, retryable, this.budget);
+  }
+
+  /**
+   * Creates a copy of this policy that spends retries from {@code budget}.
+   *
+   * @param budget the budget
+   * @return a retry policy
+   */
+  public @NonNull RetryPolicy budget(final @NonNull RetryBudget budget) {
+    return new RetryPolicy(this.maxAttempts, this.baseDelay, this.maxDelay, this.retryable, budget);
+  }
+
+  /**
+   * Gets the maximum number of attempts, including the first.
+   *
+   * @return the maximum number of attempts
+   */
+  public int maxAttempts() {
+    return this.maxAttempts;
+  }
+
+  /**
+   * Gets the retry budget.
+   *
+   * @return the retry budget
+   */
+  public @NonNull RetryBudget budget() {
+    return this.budget;
+  }
+
+  /**
+   * Tests if {@code throwable} should be retried.
+   *
+   * @param throwable the unwrapped failure
+   * @return {@code true} if {@code throwable} should be retried
+   */
+  public boolean isRetryable(final @NonNull Throwable throwable) {
+    return this.retryable.test(throwable);
+  }
+
+  /**
+   * Chooses the delay before the next attempt.
+   *
+   * @param previous the previous delay in nanoseconds, or {@code 0} before the first retry
+   * @return the delay in nanoseconds
+   */
+  /* package */ long nextDelay(final long previous) {
+    final long upper = Math.min(this.maxDelay, Math.max(this.baseDelay, previous) * 3);
+    if(upper <= this.baseDelay) {
+      return this.baseDelay;
+    }
+    return ThreadLocalRandom.current().nextLong(this.baseDelay, upper + 1);
+  }
+
+  @Override
+  public @NonNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return Stream.of(
+      ExaminableProperty.of("maxAttempts", this.maxAttempts),
+      ExaminableProperty.of("baseDelay", this.baseDelay),
+      ExaminableProperty.of("maxDelay", this.maxDelay),
+      ExaminableProperty.of("budget", this.budget)
+    );
+  }
+
+  @Override
+  public String toString() {
+    return "RetryPolicy{maxAttempts=" + this.maxAttempts + ", baseDelay=" + this.baseDelay + ", maxDelay=" + this.maxDelay + ", budget=" + this.budget + '}';
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import net.kyori.mu.function.ThrowingSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Coalesces concurrent executions for the same key, so that callers requesting a key that is already being computed
+ * join the in-flight execution instead of starting another.
+ *
+ * <p>Results are not cached - once an execution completes, the next request for its key starts a new execution.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public interface SingleFlight<K, V> {
+  /**
+   * Creates a single-flight that runs executions on the thread that starts them.
+   *
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a single-flight
+   */
+  static <K, V> @NonNull SingleFlight<K, V> create() {
+    return new SingleFlightImpl<>(null, SingleFlightImpl.DEFAULT_STRIPES);
+  }
+
+  /**
+   * Creates a single-flight that runs executions on {@code executor}.
+   *
+   * @param executor the executor
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a single-flight
+   */
+  static <K, V> @NonNull SingleFlight<K, V> create(final @NonNull Executor executor) {
+    return new SingleFlightImpl<>(executor, SingleFlightImpl.DEFAULT_STRIPES);
+  }
+
+  /**
+   * Creates a single-flight that runs executions on {@code executor}, tracking in-flight executions across
+   * {@code stripes} independent maps.
+   *
+   * @param executor the executor
+   * @param stripes the minimum number of stripes, which is rounded up to a power of two
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return a single-flight
+   * @throws IllegalArgumentException if {@code stripes} is not positive
+   */
+  static <K, V> @NonNull SingleFlight<K, V> create(final @NonNull Executor executor, final int stripes) {
+    return new SingleFlightImpl<>(executor, stripes);
+  }
+
+  /**
+   * Gets the result of executing {@code supplier} for {@code key}, or joins the execution already in flight for
+   * {@code key}.
+   *
+   * <p>Each caller receives its own future, so cancelling it does not affect other callers, or the execution.</p>
+   *
+   * <p>When running executions on the calling thread, {@code supplier} must not wait for another execution of the same
+   * key, as it would be waiting for itself.</p>
+   *
+   * @param key the key
+   * @param supplier the supplier, used only if no execution is in flight for {@code key}
+   * @return a future completed with the result of the execution
+   */
+  @NonNull CompletableFuture<V> execute(final @NonNull K key, final @NonNull ThrowingSupplier<? extends V, ?> supplier);
+
+  /**
+   * Tests if an execution is in flight for {@code key}.
+   *
+   * @param key the key
+   * @return {@code true} if an execution is in flight for {@code key}
+   */
+  boolean isInFlight(final @NonNull K key);
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import net.kyori.mu.function.ThrowingSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/* package */ final class SingleFlightImpl<K, V> implements SingleFlight<K, V> {
+  /* package */ static final int DEFAULT_STRIPES = Runtime.getRuntime().availableProcessors();
+  private final @Nullable Executor executor;
+  private final ConcurrentMap<K, CompletableFuture<V>>[] stripes;
+  private final int bits;
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  /* package */ SingleFlightImpl(final @Nullable Executor executor, final int stripes) {
+    if(stripes <= 0) throw new IllegalArgumentException("stripes must be positive: " + stripes);
+    if(stripes > StripedImpl.MAXIMUM_STRIPES) throw new IllegalArgumentException("stripes must not exceed " + StripedImpl.MAXIMUM_STRIPES + ": " + stripes);
+    this.executor = executor;
+    final int length = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    this.stripes = new ConcurrentMap[length];
+    for(int i = 0; i < length; i++) {
+      this.stripes[i] = new ConcurrentHashMap<>();
+    }
+    this.bits = Integer.numberOfTrailingZeros(length);
+  }
+
+  private ConcurrentMap<K, CompletableFuture<V>> stripe(final Object key) {
+    return this.stripes[StripedImpl.stripeFor(key.hashCode(), this.bits)];
+  }
+
+  @Override
+  public @NonNull CompletableFuture<V> execute(final @NonNull K key, final @NonNull ThrowingSupplier<? extends V, ?> supplier) {
+    final ConcurrentMap<K, CompletableFuture<V>> stripe = this.stripe(key);
+    /* @Nullable */ CompletableFuture<V> future = stripe.get(key);
+    if(future == null) {
+      final CompletableFuture<V> created = new CompletableFuture<>();
+      future = stripe.putIfAbsent(key, created);
+      if(future == null) {
+        future = created;
+        this.start(stripe, key, created, supplier);
+      }
+    }
+    // give each caller their own future, so one caller can't complete or cancel it for everyone else
+    return future.thenApply(Function.identity());
+  }
+
+  private void start(final ConcurrentMap<K, CompletableFuture<V>> stripe, final K key, final CompletableFuture<V> future, final ThrowingSupplier<? extends V, ?> supplier) {
+    final Runnable task = () -> {
+      /* @Nullable */ V result = null;
+      /* @Nullable */ Throwable failure = null;
+      try {
+        result = supplier.throwingGet();
+      } catch(final Throwable t) {
+        failure = t;
+      }
+      // remove before completing, so that callers woken by completion never join a finished execution
+      stripe.remove(key, future);
+      if(failure != null) {
+        future.completeExceptionally(failure);
+      } else {
+        future.complete(result);
+      }
+    };
+    if(this.executor == null) {
+      task.run();
+      return;
+    }
+    try {
+      this.executor.execute(task);
+    } catch(final Throwable t) {
+      stripe.remove(key, future);
+      future.completeExceptionally(t);
+    }
+  }
+
+  @Override
+  public boolean isInFlight(final @NonNull K key) {
+    return this.stripe(key).containsKey(key);
+  }
+}
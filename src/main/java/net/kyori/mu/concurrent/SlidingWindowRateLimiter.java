@@ -0,0 +1,156 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A sliding window counter.
+ *
+ * <p>State layout: 20 bits of window epoch, then 22 bits each of the current and previous window counts.</p>
+ */
+/* package */ final class SlidingWindowRateLimiter implements RateLimiter {
+  /* package */ static final int MAX_PERMITS = (1 << 22) - 1;
+  private static final int COUNT_BITS = 22;
+  private static final long COUNT_MASK = MAX_PERMITS;
+  private static final long EPOCH_MASK = (1L << 20) - 1;
+  private final int permits;
+  private final long window;
+  private final LongSupplier clock;
+  private final AtomicLong state = new AtomicLong();
+
+  /* package */ SlidingWindowRateLimiter(final int permits, final long window, final LongSupplier clock) {
+    if(permits <= 0) throw new IllegalArgumentException("permits must be positive: " + permits);
+    if(permits > MAX_PERMITS) throw new IllegalArgumentException("permits must not exceed " + MAX_PERMITS + ": " + permits);
+    if(window <= 0) throw new IllegalArgumentException("window must be positive: " + window);
+    this.permits = permits;
+    this.window = window;
+    this.clock = clock;
+    this.state.set(pack(Math.floorDiv(clock.getAsLong(), window), 0, 0));
+  }
+
+  @Override
+  public boolean tryAcquire(final int permits) {
+    return this.tryAcquireOrWait(permits) == 0;
+  }
+
+  @Override
+  public @NonNull CompletableFuture<Void> acquire(final int permits) {
+    final long wait = this.tryAcquireOrWait(permits);
+    if(wait == 0) {
+      return CompletableFuture.completedFuture(null);
+    }
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    TimerWheel.shared().schedule(new Waiter(future, permits), wait, TimeUnit.NANOSECONDS);
+    return future;
+  }
+
+  /**
+   * Attempts to acquire {@code permits}.
+   *
+   * @param permits the number of permits
+   * @return {@code 0} if the permits were acquired, otherwise an estimate of the nanoseconds until they may be
+   */
+  private long tryAcquireOrWait(final int permits) {
+    if(permits <= 0) throw new IllegalArgumentException("permits must be positive: " + permits);
+    if(permits > this.permits) throw new IllegalArgumentException("permits must not exceed " + this.permits + ": " + permits);
+    for(;;) {
+      final long now = this.clock.getAsLong();
+      final long epoch = Math.floorDiv(now, this.window);
+      final long elapsed = Math.floorMod(now, this.window);
+      final long state = this.state.get();
+      final long stateEpoch = state >>> (COUNT_BITS << 1);
+      long current = (state >>> COUNT_BITS) & COUNT_MASK;
+      long previous = state & COUNT_MASK;
+      if(stateEpoch != (epoch & EPOCH_MASK)) {
+        // roll over - if more than one window has passed, both counts are stale
+        previous = stateEpoch == ((epoch - 1) & EPOCH_MASK) ? current : 0;
+        current = 0;
+      }
+      final long remaining = this.window - elapsed;
+      final double estimate = current + previous * ((double) remaining / this.window);
+      if(estimate + permits > this.permits) {
+        final long free = this.permits - current - permits;
+        if(free < 0 || previous == 0) {
+          // nothing sliding out of the window will make room, so wait for the next one
+          return remaining;
+        }
+        // wait until enough of the previous window has slid out
+        return Math.max(1, remaining - (long) ((double) free * this.window / previous));
+      }
+      if(this.state.compareAndSet(state, pack(epoch, current + permits, previous))) {
+        return 0;
+      }
+    }
+  }
+
+  @Override
+  public boolean isFull() {
+    final long epoch = Math.floorDiv(this.clock.getAsLong(), this.window);
+    final long state = this.state.get();
+    final long stateEpoch = state >>> (COUNT_BITS << 1);
+    final long current = (state >>> COUNT_BITS) & COUNT_MASK;
+    if(stateEpoch == (epoch & EPOCH_MASK)) {
+      return current == 0 && (state & COUNT_MASK) == 0;
+    }
+    // the current count becomes the previous count once the window rolls over
+    return stateEpoch != ((epoch - 1) & EPOCH_MASK) || current == 0;
+  }
+
+  private static long pack(final long epoch, final long current, final long previous) {
+    return ((epoch & EPOCH_MASK) << (COUNT_BITS << 1)) | (current << COUNT_BITS) | previous;
+  }
+
+  @Override
+  public String toString() {
+    return "SlidingWindowRateLimiter{permits=" + this.permits + ", window=" + this.window + '}';
+  }
+
+  private final class Waiter implements Runnable {
+    private final CompletableFuture<Void> future;
+    private final int permits;
+
+    Waiter(final CompletableFuture<Void> future, final int permits) {
+      this.future = future;
+      this.permits = permits;
+    }
+
+    @Override
+    public void run() {
+      if(this.future.isDone()) {
+        return;
+      }
+      final long wait = SlidingWindowRateLimiter.this.tryAcquireOrWait(this.permits);
+      if(wait == 0) {
+        this.future.complete(null);
+      } else {
+        TimerWheel.shared().schedule(this, wait, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+}
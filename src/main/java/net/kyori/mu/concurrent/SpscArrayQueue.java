@@ -0,0 +1,104 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A single-producer, single-consumer queue.
+ *
+ * <p>A slot is free when it is {@code null}, so neither side needs to read the other's index to make progress - the
+ * indices are only shared to estimate the size of the queue.</p>
+ */
+/* package */ final class SpscArrayQueue<E> extends AbstractBoundedQueue<E> {
+  /* package */ SpscArrayQueue(final int capacity) {
+    super(capacity);
+  }
+
+  @Override
+  public boolean offer(final @NonNull E element) {
+    requireNonNull(element, "element");
+    final long producerIndex = this.producerIndex();
+    final int index = this.index(producerIndex);
+    if(this.buffer.get(index) != null) {
+      return false;
+    }
+    this.buffer.lazySet(index, element);
+    this.lazySetProducerIndex(producerIndex + 1);
+    return true;
+  }
+
+  @Override
+  public @Nullable E poll() {
+    final long consumerIndex = this.consumerIndex();
+    final int index = this.index(consumerIndex);
+    final /* @Nullable */ E element = this.buffer.get(index);
+    if(element == null) {
+      return null;
+    }
+    this.buffer.lazySet(index, null);
+    this.lazySetConsumerIndex(consumerIndex + 1);
+    return element;
+  }
+
+  @Override
+  public int drain(final @NonNull Consumer<? super E> consumer, final int limit) {
+    final long consumerIndex = this.consumerIndex();
+    int drained = 0;
+    while(drained < limit) {
+      final int index = this.index(consumerIndex + drained);
+      final /* @Nullable */ E element = this.buffer.get(index);
+      if(element == null) {
+        break;
+      }
+      this.buffer.lazySet(index, null);
+      drained++;
+      // publish progress before calling out, in case the consumer throws
+      this.lazySetConsumerIndex(consumerIndex + drained);
+      consumer.accept(element);
+    }
+    return drained;
+  }
+
+  @Override
+  public int fill(final @NonNull Supplier<? extends E> supplier, final int limit) {
+    final long producerIndex = this.producerIndex();
+    int filled = 0;
+    while(filled < limit) {
+      final int index = this.index(producerIndex + filled);
+      if(this.buffer.get(index) != null) {
+        break;
+      }
+      this.buffer.lazySet(index, requireNonNull(supplier.get(), "element"));
+      filled++;
+      this.lazySetProducerIndex(producerIndex + filled);
+    }
+    return filled;
+  }
+}
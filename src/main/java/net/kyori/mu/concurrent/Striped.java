@@ -0,0 +1,111 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A fixed number of stripes - locks, read-write locks or semaphores - that keys are mapped onto.
+ *
+ * <p>Guarding per-key critical sections with a stripe keeps memory fixed, unlike a map of locks that grows with every
+ * key ever seen, while distinct keys rarely contend. Keys that are {@link Object#equals(Object) equal} always map to
+ * the same stripe. Stripes are created lazily on first use, and every stripe is padded to reduce false
+ * sharing between neighbouring stripes.</p>
+ *
+ * @param <L> the stripe type
+ */
+public interface Striped<L> {
+  /**
+   * Creates striped reentrant locks.
+   *
+   * @param stripes the minimum number of stripes, which is rounded up to a power of two
+   * @return striped locks
+   * @throws IllegalArgumentException if {@code stripes} is not positive
+   */
+  static @NonNull Striped<Lock> lock(final int stripes) {
+    return new StripedImpl<>(stripes, StripedImpl.PaddedLock::new);
+  }
+
+  /**
+   * Creates striped reentrant read-write locks.
+   *
+   * @param stripes the minimum number of stripes, which is rounded up to a power of two
+   * @return striped read-write locks
+   * @throws IllegalArgumentException if {@code stripes} is not positive
+   * @see ReentrantReadWriteLock
+   */
+  static @NonNull Striped<ReadWriteLock> readWriteLock(final int stripes) {
+    return new StripedImpl<>(stripes, StripedImpl.PaddedReadWriteLock::new);
+  }
+
+  /**
+   * Creates striped semaphores, each with {@code permits} permits.
+   *
+   * @param stripes the minimum number of stripes, which is rounded up to a power of two
+   * @param permits the number of permits per semaphore
+   * @return striped semaphores
+   * @throws IllegalArgumentException if {@code stripes} is not positive, or {@code permits} is negative
+   */
+  static @NonNull Striped<Semaphore> semaphore(final int stripes, final int permits) {
+    if(permits < 0) throw new IllegalArgumentException("permits must not be negative: " + permits);
+    return new StripedImpl<>(stripes, () -> new StripedImpl.PaddedSemaphore(permits));
+  }
+
+  /**
+   * Gets the stripe for {@code key}.
+   *
+   * @param key the key
+   * @return the stripe
+   */
+  @NonNull L get(final @NonNull Object key);
+
+  /**
+   * Gets the stripe at {@code index}.
+   *
+   * @param index the index, between {@code 0} and {@link #size()}
+   * @return the stripe
+   * @throws IndexOutOfBoundsException if {@code index} is out of range
+   */
+  @NonNull L getAt(final int index);
+
+  /**
+   * Gets the index of the stripe for {@code key}.
+   *
+   * @param key the key
+   * @return the index
+   */
+  int indexFor(final @NonNull Object key);
+
+  /**
+   * Gets the number of stripes.
+   *
+   * @return the number of stripes
+   */
+  int size();
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/* package */ final class StripedImpl<L> implements Striped<L> {
+  // the largest power of two representable as an int
+  /* package */ static final int MAXIMUM_STRIPES = 1 << 30;
+  private final AtomicReferenceArray<L> stripes;
+  private final Supplier<? extends L> factory;
+  private final int mask;
+  private final int bits;
+
+  /* package */ StripedImpl(final int stripes, final Supplier<? extends L> factory) {
+    if(stripes <= 0) throw new IllegalArgumentException("stripes must be positive: " + stripes);
+    if(stripes > MAXIMUM_STRIPES) throw new IllegalArgumentException("stripes must not exceed " + MAXIMUM_STRIPES + ": " + stripes);
+    final int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+    this.stripes = new AtomicReferenceArray<>(size);
+    this.factory = factory;
+    this.mask = size - 1;
+    this.bits = Integer.numberOfTrailingZeros(size);
+  }
+
+  @Override
+  public @NonNull L get(final @NonNull Object key) {
+    return this.getAt(this.indexFor(key));
+  }
+
+  @Override
+  public @NonNull L getAt(final int index) {
+    final /* @Nullable */ L stripe = this.stripes.get(index);
+    if(stripe != null) {
+      return stripe;
+    }
+    final L created = this.factory.get();
+    // if we lose the race, use the winner's stripe - two threads must never guard the same key with different stripes
+    if(this.stripes.compareAndSet(index, null, created)) {
+      return created;
+    }
+    return this.stripes.get(index);
+  }
+
+  @Override
+  public int indexFor(final @NonNull Object key) {
+    return stripeFor(key.hashCode(), this.bits);
+  }
+
+  @Override
+  public int size() {
+    return this.mask + 1;
+  }
+
+  /**
+   * Selects one of {@code 2^bits} stripes for {@code hash}.
+   *
+   * <p>Stripes are selected by the high bits of the {@link #fmix32(int) mixed} hash. Hash tables such as
+   * {@link java.util.concurrent.ConcurrentHashMap} select their bins by the low bits, so a table held by a stripe
+   * still spreads its keys across all of its bins.</p>
+   *
+   * @param hash the hash
+   * @param bits the number of bits to select, between {@code 0} and {@code 30}
+   * @return the stripe index
+   */
+  /* package */ static int stripeFor(final int hash, final int bits) {
+    // shift as a long, as shifting an int by 32 does nothing
+    return (int) ((fmix32(hash) & 0xffffffffL) >>> (32 - bits));
+  }
+
+  /**
+   * Mixes the bits of {@code hash}, using the MurmurHash3 finalizer.
+   *
+   * <p>Many {@link Object#hashCode()} implementations vary in only a few of their bits - mixing makes every input bit
+   * affect the stripe.</p>
+   *
+   * @param hash the hash
+   * @return the mixed hash
+   */
+  /* package */ static int fmix32(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  @SuppressWarnings("unused")
+  /* package */ static final class PaddedLock extends ReentrantLock {
+    private static final long serialVersionUID = 1L;
+    // padding, so that neighbouring stripes are unlikely to share a cache line
+    long p0, p1, p2, p3, p4, p5, p6;
+  }
+
+  @SuppressWarnings("unused")
+  /* package */ static final class PaddedReadWriteLock extends ReentrantReadWriteLock {
+    private static final long serialVersionUID = 1L;
+    // padding, so that neighbouring stripes are unlikely to share a cache line
+    long p0, p1, p2, p3, p4, p5, p6;
+  }
+
+  @SuppressWarnings("unused")
+  /* package */ static final class PaddedSemaphore extends Semaphore {
+    private static final long serialVersionUID = 1L;
+    // padding, so that neighbouring stripes are unlikely to share a cache line
+    long p0, p1, p2, p3, p4, p5, p6;
+
+    /* package */ PaddedSemaphore(final int permits) {
+      super(permits);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A hashed timing wheel, driven by a single daemon thread.
+ *
+ * <p>Timeouts are hashed into one of a ring of buckets by their deadline, each bucket covering one tick. The worker
+ * thread advances one bucket per tick, running the expired timeouts in it - timeouts further away than one revolution
+ * of the wheel wait out the remaining rounds in their bucket. Scheduling is a queue insert, and cancelling is a flag
+ * flip, so both are {@code O(1)}; cancelled timeouts are unlinked when the worker next visits their bucket.</p>
+ *
+ * <p>Timeouts are run on the worker thread, so they must be short and must not block.</p>
+ */
+/* package */ final class TimerWheel {
+  private static final long TICK = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final int WHEEL_SIZE = 512;
+  private final long tick;
+  private final int mask;
+  private final Bucket[] wheel;
+  private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final long start = System.nanoTime();
+  private final Thread worker;
+  private volatile boolean idle;
+  // the number of timeouts in the wheel - only touched by the worker
+  private int size;
+
+  /* package */ TimerWheel(final String name, final long tick, final int wheelSize) {
+    if(tick <= 0) throw new IllegalArgumentException("tick must be positive: " + tick);
+    if(wheelSize <= 0 || (wheelSize & (wheelSize - 1)) != 0) throw new IllegalArgumentException("wheelSize must be a positive power of two: " + wheelSize);
+    this.tick = tick;
+    this.mask = wheelSize - 1;
+    this.wheel = new Bucket[wheelSize];
+    for(int i = 0; i < wheelSize; i++) {
+      this.wheel[i] = new Bucket();
+    }
+    this.worker = new Thread(this::run, name);
+    this.worker.setDaemon(true);
+    this.worker.start();
+  }
+
+  /**
+   * Gets the shared timer wheel, which has a resolution of one millisecond.
+   *
+   * @return the shared timer wheel
+   */
+  /* package */ static @NonNull TimerWheel shared() {
+    return Shared.INSTANCE;
+  }
+
+  /**
+   * Schedules {@code task} to run once {@code delay} has elapsed.
+   *
+   * @param task the task
+   * @param delay the delay
+   * @param unit the unit of {@code delay}
+   * @return a timeout, which may be used to cancel the task
+   */
+  /* package */ @NonNull Timeout schedule(final @NonNull Runnable task, final long delay, final @NonNull TimeUnit unit) {
+    final long elapsed = System.nanoTime() - this.start;
+    // saturate, rather than overflowing into the past
+    final long deadline = elapsed + Math.min(Math.max(0, unit.toNanos(delay)), Long.MAX_VALUE - elapsed);
+    final Timeout timeout = new Timeout(task, deadline);
+    this.pending.offer(timeout);
+    if(this.idle) {
+      LockSupport.unpark(this.worker);
+    }
+    return timeout;
+  }
+
+  private void run() {
+    long tick = 0;
+    for(;;) {
+      tick = this.await(tick);
+      this.transfer(tick);
+      final Bucket bucket = this.wheel[(int) (tick & this.mask)];
+      this.size -= bucket.expire();
+      tick++;
+    }
+  }
+
+  /**
+   * Waits until {@code tick} has started.
+   *
+   * @param tick the tick to wait for
+   * @return the tick to process, which may be later than {@code tick} if the wheel was idle
+   */
+  private long await(long tick) {
+    if(this.size == 0 && this.pending.isEmpty()) {
+      this.idle = true;
+      // re-check now that we're visible as idle, to avoid missing an unpark
+      while(this.pending.isEmpty()) {
+        LockSupport.park(this);
+      }
+      this.idle = false;
+      // nothing is in the wheel, so we can jump straight to the current tick
+      tick = Math.max(tick, (System.nanoTime() - this.start) / this.tick);
+    }
+    for(;;) {
+      final long remaining = (tick + 1) * this.tick - (System.nanoTime() - this.start);
+      if(remaining <= 0) {
+        return tick;
+      }
+      LockSupport.parkNanos(this, remaining);
+    }
+  }
+
+  private void transfer(final long tick) {
+    for(/* @Nullable */ Timeout timeout = this.pending.poll(); timeout != null; timeout = this.pending.poll()) {
+      if(timeout.state != Timeout.PENDING) {
+        continue;
+      }
+      final long ticks = Math.max(timeout.deadline / this.tick, tick);
+      timeout.rounds = (ticks - tick) / this.wheel.length;
+      this.wheel[(int) (ticks & this.mask)].add(timeout);
+      this.size++;
+    }
+  }
+
+  private static final class Shared {
+    static final TimerWheel INSTANCE = new TimerWheel("mu-timer", TICK, WHEEL_SIZE);
+  }
+
+  /**
+   * A doubly-linked list of timeouts, only accessed by the worker.
+   */
+  private static final class Bucket {
+    private @Nullable Timeout head;
+    private @Nullable Timeout tail;
+
+    void add(final Timeout timeout) {
+      timeout.previous = this.tail;
+      if(this.tail == null) {
+        this.head = timeout;
+      } else {
+        this.tail.next = timeout;
+      }
+      this.tail = timeout;
+    }
+
+    /**
+     * Runs the timeouts due in the current round, and unlinks them and any cancelled timeouts.
+     *
+     * @return the number of timeouts unlinked
+     */
+    int expire() {
+      int removed = 0;
+      /* @Nullable */ Timeout timeout = this.head;
+      while(timeout != null) {
+        final /* @Nullable */ Timeout next = timeout.next;
+        if(timeout.state != Timeout.PENDING) {
+          this.remove(timeout);
+          removed++;
+        } else if(timeout.rounds <= 0) {
+          this.remove(timeout);
+          removed++;
+          timeout.expire();
+        } else {
+          timeout.rounds--;
+        }
+        timeout = next;
+      }
+      return removed;
+    }
+
+    private void remove(final Timeout timeout) {
+      final /* @Nullable */ Timeout previous = timeout.previous;
+      final /* @Nullable */ Timeout next = timeout.next;
+      if(previous == null) {
+        this.head = next;
+      } else {
+        previous.next = next;
+      }
+      if(next == null) {
+        this.tail = previous;
+      } else {
+        next.previous = previous;
+      }
+      timeout.previous = null;
+      timeout.next = null;
+    }
+  }
+
+  /**
+   * A scheduled task.
+   */
+  /* package */ static final class Timeout {
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+    private final Runnable task;
+    private final long deadline;
+    private volatile int state;
+    // only accessed by the worker
+    private long rounds;
+    private @Nullable Timeout previous;
+    private @Nullable Timeout next;
+
+    private Timeout(final Runnable task, final long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels this timeout, if it has not already run.
+     *
+     * @return {@code true} if this timeout was cancelled
+     */
+    /* package */ boolean cancel() {
+      return STATE.compareAndSet(this, PENDING, CANCELLED);
+    }
+
+    private void expire() {
+      if(STATE.compareAndSet(this, PENDING, EXPIRED)) {
+        try {
+          this.task.run();
+        } catch(final Throwable t) {
+          // a failing task must not take the worker down with it
+          final Thread thread = Thread.currentThread();
+          thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A token bucket, implemented with the generic cell rate algorithm.
+ *
+ * <p>Rather than counting tokens, we track the theoretical arrival time: the time at which the bucket would be full
+ * again. Acquiring {@code n} permits pushes it {@code n} emission intervals later, and is permitted as long as it
+ * stays within {@code burst} intervals of now.</p>
+ */
+/* package */ final class TokenBucketRateLimiter implements RateLimiter {
+  private final long interval;
+  private final long tolerance;
+  private final int burst;
+  private final LongSupplier clock;
+  private final AtomicLong arrival;
+
+  /* package */ TokenBucketRateLimiter(final long permits, final long period, final int burst, final LongSupplier clock) {
+    if(permits <= 0) throw new IllegalArgumentException("permits must be positive: " + permits);
+    if(period <= 0) throw new IllegalArgumentException("period must be positive: " + period);
+    if(burst <= 0) throw new IllegalArgumentException("burst must be positive: " + burst);
+    this.interval = Math.max(1, period / permits);
+    this.tolerance = this.interval * burst;
+    this.burst = burst;
+    this.clock = clock;
+    // start full
+    this.arrival = new AtomicLong(clock.getAsLong());
+  }
+
+  @Override
+  public boolean tryAcquire(final int permits) {
+    this.checkPermits(permits);
+    final long cost = permits * this.interval;
+    for(;;) {
+      final long now = this.clock.getAsLong();
+      final long arrival = this.arrival.get();
+      final long next = Math.max(arrival, now) + cost;
+      if(next - now > this.tolerance) {
+        return false;
+      }
+      if(this.arrival.compareAndSet(arrival, next)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public @NonNull CompletableFuture<Void> acquire(final int permits) {
+    this.checkPermits(permits);
+    final long cost = permits * this.interval;
+    for(;;) {
+      final long now = this.clock.getAsLong();
+      final long arrival = this.arrival.get();
+      final long next = Math.max(arrival, now) + cost;
+      // reserve the permits now, and wait until the reservation falls within the tolerance
+      if(this.arrival.compareAndSet(arrival, next)) {
+        final long wait = next - this.tolerance - now;
+        return wait <= 0 ? CompletableFuture.completedFuture(null) : CompletableFutures.delayed(wait, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  @Override
+  public boolean isFull() {
+    // the arrival time is when the bucket would be full again
+    return this.arrival.get() - this.clock.getAsLong() <= 0;
+  }
+
+  private void checkPermits(final int permits) {
+    if(permits <= 0) throw new IllegalArgumentException("permits must be positive: " + permits);
+    if(permits > this.burst) throw new IllegalArgumentException("permits must not exceed burst of " + this.burst + ": " + permits);
+  }
+
+  @Override
+  public String toString() {
+    return "TokenBucketRateLimiter{interval=" + this.interval + ", burst=" + this.burst + '}';
+  }
+}
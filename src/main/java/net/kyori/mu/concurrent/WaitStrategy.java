@@ -0,0 +1,115 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A strategy for idling while waiting for a condition, such as a queue becoming non-empty, to be satisfied.
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+  /**
+   * Gets a wait strategy that busy-spins.
+   *
+   * <p>This has the lowest latency, at the cost of consuming an entire core while waiting.</p>
+   *
+   * @return a wait strategy
+   */
+  static @NonNull WaitStrategy spinning() {
+    return attempts -> attempts + 1;
+  }
+
+  /**
+   * Gets a wait strategy that {@link Thread#yield() yields} to other threads.
+   *
+   * @return a wait strategy
+   */
+  static @NonNull WaitStrategy yielding() {
+    return attempts -> {
+      Thread.yield();
+      return attempts + 1;
+    };
+  }
+
+  /**
+   * Gets a wait strategy that parks the current thread for {@code duration}.
+   *
+   * @param duration the duration to park for
+   * @param unit the unit of {@code duration}
+   * @return a wait strategy
+   * @throws IllegalArgumentException if {@code duration} is not positive
+   */
+  static @NonNull WaitStrategy parking(final long duration, final @NonNull TimeUnit unit) {
+    if(duration <= 0) throw new IllegalArgumentException("duration must be positive: " + duration);
+    final long nanos = unit.toNanos(duration);
+    return attempts -> {
+      LockSupport.parkNanos(nanos);
+      return attempts + 1;
+    };
+  }
+
+  /**
+   * Gets a wait strategy that spins {@code spins} times, then yields {@code yields} times, and then parks for
+   * {@code duration}.
+   *
+   * <p>This keeps latency low for short waits, without wasting a core on long ones.</p>
+   *
+   * @param spins the number of times to spin
+   * @param yields the number of times to yield
+   * @param duration the duration to park for
+   * @param unit the unit of {@code duration}
+   * @return a wait strategy
+   * @throws IllegalArgumentException if {@code spins} or {@code yields} is negative, or {@code duration} is not positive
+   */
+  static @NonNull WaitStrategy progressive(final int spins, final int yields, final long duration, final @NonNull TimeUnit unit) {
+    if(spins < 0) throw new IllegalArgumentException("spins must not be negative: " + spins);
+    if(yields < 0) throw new IllegalArgumentException("yields must not be negative: " + yields);
+    if(duration <= 0) throw new IllegalArgumentException("duration must be positive: " + duration);
+    final long nanos = unit.toNanos(duration);
+    final int yieldLimit = spins + yields;
+    return attempts -> {
+      if(attempts < spins) {
+        // spin
+      } else if(attempts < yieldLimit) {
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(nanos);
+        // stop counting once parking, so the counter can't overflow back into spinning
+        return attempts;
+      }
+      return attempts + 1;
+    };
+  }
+
+  /**
+   * Idles once.
+   *
+   * @param attempts the number of times this strategy has idled during the current wait, starting at {@code 0}
+   * @return the number of attempts to pass on the next invocation during the current wait
+   */
+  int idle(final int attempts);
+}
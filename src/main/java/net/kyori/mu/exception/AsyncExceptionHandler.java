@@ -0,0 +1,171 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.exception;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.mu.concurrent.BoundedQueue;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An exception handler that queues exceptions for a delegate running on an executor.
+ *
+ * <p>Each queued exception has an entry in {@code pending}, keyed by its signature, until it is delivered - so the
+ * map never holds more entries than the queue, and duplicates arriving in the meantime only increment a counter.</p>
+ */
+/* package */ final class AsyncExceptionHandler implements ExceptionHandler, Runnable {
+  /* package */ static final int DEFAULT_CAPACITY = 1024;
+  // the number of stack frames that must match for two exceptions to be considered duplicates
+  private static final int SIGNATURE_FRAMES = 3;
+  // the maximum number of exceptions delivered in a single run before yielding the executor thread
+  private static final int BATCH = 64;
+  private final ExceptionHandler delegate;
+  private final Executor executor;
+  private final BoundedQueue<Report> queue;
+  private final ConcurrentMap<Signature, Report> pending = new ConcurrentHashMap<>();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicInteger wip = new AtomicInteger();
+
+  /* package */ AsyncExceptionHandler(final ExceptionHandler delegate, final Executor executor, final int capacity) {
+    this.delegate = delegate;
+    this.executor = executor;
+    this.queue = BoundedQueue.mpsc(capacity);
+  }
+
+  @Override
+  public void handleException(final @NonNull Throwable throwable, final @Nullable Object source) {
+    final Signature signature = new Signature(throwable);
+    final Report report = new Report(signature, throwable, source);
+    final /* @Nullable */ Report existing = this.pending.putIfAbsent(signature, report);
+    if(existing != null) {
+      existing.duplicates.incrementAndGet();
+      return;
+    }
+    if(!this.queue.offer(report)) {
+      this.pending.remove(signature, report);
+      this.dropped.addAndGet(1 + report.duplicates.get());
+      return;
+    }
+    this.schedule();
+  }
+
+  private void schedule() {
+    if(this.wip.getAndIncrement() == 0) {
+      try {
+        this.executor.execute(this);
+      } catch(final Throwable t) {
+        // we can't deliver anything - leave the queue for the next attempt to schedule
+        this.wip.set(0);
+      }
+    }
+  }
+
+  @Override
+  public void run() {
+    int missed = 1;
+    for(;;) {
+      int delivered = 0;
+      for(/* @Nullable */ Report report = this.queue.poll(); report != null; report = this.queue.poll()) {
+        this.deliver(report);
+        if(++delivered == BATCH) {
+          // give other tasks a chance to run - wip is still held, so nobody else will drain in the meantime
+          try {
+            this.executor.execute(this);
+          } catch(final Throwable t) {
+            this.wip.set(0);
+          }
+          return;
+        }
+      }
+      missed = this.wip.addAndGet(-missed);
+      if(missed == 0) {
+        return;
+      }
+    }
+  }
+
+  private void deliver(final Report report) {
+    // once removed, later duplicates queue a new report rather than counting towards this one - although a duplicate
+    // that found this report just before its removal may still count towards it after we read the count, and is lost
+    this.pending.remove(report.signature, report);
+    final long duplicates = report.duplicates.get();
+    final long dropped = this.dropped.getAndSet(0);
+    // wrap rather than attaching to the throwable - it isn't ours to modify, and may be reported again
+    final Throwable throwable = duplicates > 0 || dropped > 0
+      ? Exceptions.stackless(duplicates + " similar exception(s) suppressed, " + dropped + " exception(s) dropped", report.throwable)
+      : report.throwable;
+    try {
+      this.delegate.handleException(throwable, report.source);
+    } catch(final Throwable t) {
+      // there is nobody left to report this to
+    }
+  }
+
+  private static final class Report {
+    final Signature signature;
+    final Throwable throwable;
+    final @Nullable Object source;
+    final AtomicLong duplicates = new AtomicLong();
+
+    Report(final Signature signature, final Throwable throwable, final @Nullable Object source) {
+      this.signature = signature;
+      this.throwable = throwable;
+      this.source = source;
+    }
+  }
+
+  /**
+   * The type of a throwable, and the top frames of its stack trace.
+   */
+  private static final class Signature {
+    private final Class<?> type;
+    private final StackTraceElement[] frames;
+    private final int hash;
+
+    Signature(final Throwable throwable) {
+      this.type = throwable.getClass();
+      final StackTraceElement[] trace = throwable.getStackTrace();
+      this.frames = trace.length <= SIGNATURE_FRAMES ? trace : Arrays.copyOf(trace, SIGNATURE_FRAMES);
+      this.hash = 31 * this.type.hashCode() + Arrays.hashCode(this.frames);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if(this == other) return true;
+      if(!(other instanceof Signature)) return false;
+      final Signature that = (Signature) other;
+      return this.hash == that.hash && this.type == that.type && Arrays.equals(this.frames, that.frames);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.exception;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An exception handler that counts exceptions by type and by source, before passing them to a delegate.
+ *
+ * <p>Counters are kept both as totals and over a rolling window of one-second buckets, covering the last minute, so
+ * that exception rates can be exported without parsing logs. Rates are taken over whole seconds, so the second in
+ * progress only counts once it has ended. Counts are exact by type - a subclass is counted separately from its
+ * superclass.</p>
+ *
+ * <p>Looking up the counter for a type goes through a {@link ClassValue}, which caches it on the class itself, so no
+ * hashing is needed. Counters by source are looked up in a concurrent map, without locking once the source has been
+ * seen. Counters are {@link LongAdder}s, so threads failing at once do not contend.</p>
+ *
+ * <p>Sources are held strongly and never evicted, so they should be a small, long-lived set - such as components or
+ * subsystems - rather than per-request objects. Exception types are held strongly too, so a handler keeps the class
+ * loader of every exception it has counted reachable. It should not outlive code that may be unloaded, such as a
+ * plugin whose exceptions it counts.</p>
+ */
+public final class CountingExceptionHandler implements ExceptionHandler {
+  private static final long BUCKET = TimeUnit.SECONDS.toNanos(1);
+  private static final int WINDOW = 60;
+  // one more than the longest window, so the bucket in progress doesn't overwrite the oldest one in the window
+  private static final int BUCKETS = WINDOW + 1;
+  private final ExceptionHandler delegate;
+  private final LongSupplier clock;
+  // ClassValue can't be enumerated, so counters are also registered here when first created
+  private final ConcurrentMap<Class<?>, Counter> types = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Object, Counter> sources = new ConcurrentHashMap<>();
+  private final ClassValue<Counter> counters = new ClassValue<Counter>() {
+    @Override
+    protected Counter computeValue(final Class<?> type) {
+      // may be called more than once for a type if threads race, so share a single counter through the registry
+      return CountingExceptionHandler.this.types.computeIfAbsent(type, key -> new Counter());
+    }
+  };
+
+  /**
+   * Creates a counting exception handler.
+   *
+   * @param delegate the handler to pass exceptions to after counting them
+   * @return a counting exception handler
+   */
+  public static @NonNull CountingExceptionHandler create(final @NonNull ExceptionHandler delegate) {
+    return create(delegate, System::nanoTime);
+  }
+
+  /**
+   * Creates a counting exception handler.
+   *
+   * @param delegate the handler to pass exceptions to after counting them
+   * @param clock the clock, in nanoseconds
+   * @return a counting exception handler
+   */
+  public static @NonNull CountingExceptionHandler create(final @NonNull ExceptionHandler delegate, final @NonNull LongSupplier clock) {
+    return new CountingExceptionHandler(delegate, clock);
+  }
+
+  private CountingExceptionHandler(final ExceptionHandler delegate, final LongSupplier clock) {
+    this.delegate = delegate;
+    this.clock = clock;
+  }
+
+  @Override
+  public void handleException(final @NonNull Throwable throwable, final @Nullable Object source) {
+    final long epoch = this.epoch();
+    this.counters.get(throwable.getClass()).increment(epoch);
+    if(source != null) {
+      // get first - on Java 8, computeIfAbsent locks the bin even when the key is present
+      /* @Nullable */ Counter counter = this.sources.get(source);
+      if(counter == null) {
+        counter = this.sources.computeIfAbsent(source, key -> new Counter());
+      }
+      counter.increment(epoch);
+    }
+    this.delegate.handleException(throwable, source);
+  }
+
+  /**
+   * Gets the total number of exceptions of exactly {@code type} handled.
+   *
+   * @param type the exception type
+   * @return the count
+   */
+  public long count(final @NonNull Class<? extends Throwable> type) {
+    final /* @Nullable */ Counter counter = this.types.get(type);
+    return counter == null ? 0 : counter.total.sum();
+  }
+
+  /**
+   * Gets the total number of exceptions handled from {@code source}.
+   *
+   * @param source the source
+   * @return the count
+   */
+  public long count(final @NonNull Object source) {
+    final /* @Nullable */ Counter counter = this.sources.get(source);
+    return counter == null ? 0 : counter.total.sum();
+  }
+
+  /**
+   * Gets the total number of exceptions handled, by type.
+   *
+   * @return a snapshot of the counts
+   */
+  @SuppressWarnings("unchecked")
+  public @NonNull Map<Class<? extends Throwable>, Long> counts() {
+    final Map<Class<? extends Throwable>, Long> counts = new HashMap<>();
+    this.types.forEach((type, counter) -> counts.put((Class<? extends Throwable>) type, counter.total.sum()));
+    return Collections.unmodifiableMap(counts);
+  }
+
+  /**
+   * Gets the total number of exceptions handled, by source.
+   *
+   * @return a snapshot of the counts
+   */
+  public @NonNull Map<Object, Long> sourceCounts() {
+    final Map<Object, Long> counts = new HashMap<>();
+    this.sources.forEach((source, counter) -> counts.put(source, counter.total.sum()));
+    return Collections.unmodifiableMap(counts);
+  }
+
+  /**
+   * Gets the rate of exceptions of exactly {@code type} handled over the last {@code window}, per second.
+   *
+   * @param type the exception type
+   * @param window the window, of at least one second and at most one minute
+   * @param unit the unit of {@code window}
+   * @return the rate per second
+   * @throws IllegalArgumentException if {@code window} is out of range
+   */
+  public double rate(final @NonNull Class<? extends Throwable> type, final long window, final @NonNull TimeUnit unit) {
+    final int buckets = buckets(window, unit);
+    final /* @Nullable */ Counter counter = this.types.get(type);
+    return counter == null ? 0 : (double) counter.sum(this.epoch(), buckets) / buckets;
+  }
+
+  /**
+   * Gets the rate of exceptions handled over the last {@code window}, per second, by type.
+   *
+   * <p>Types with no exceptions within the window are omitted.</p>
+   *
+   * @param window the window, of at least one second and at most one minute
+   * @param unit the unit of {@code window}
+   * @return a snapshot of the rates per second
+   * @throws IllegalArgumentException if {@code window} is out of range
+   */
+  @SuppressWarnings("unchecked")
+  public @NonNull Map<Class<? extends Throwable>, Double> rates(final long window, final @NonNull TimeUnit unit) {
+    final int buckets = buckets(window, unit);
+    final long epoch = this.epoch();
+    final Map<Class<? extends Throwable>, Double> rates = new HashMap<>();
+    this.types.forEach((type, counter) -> {
+      final long sum = counter.sum(epoch, buckets);
+      if(sum > 0) {
+        rates.put((Class<? extends Throwable>) type, (double) sum / buckets);
+      }
+    });
+    return Collections.unmodifiableMap(rates);
+  }
+
+  private long epoch() {
+    return Math.floorDiv(this.clock.getAsLong(), BUCKET);
+  }
+
+  private static int buckets(final long window, final TimeUnit unit) {
+    final long seconds = unit.toSeconds(window);
+    if(seconds < 1 || seconds > WINDOW) throw new IllegalArgumentException("window must be between 1 and " + WINDOW + " seconds: " + window + ' ' + unit);
+    return (int) seconds;
+  }
+
+  /**
+   * A total count, and counts over a ring of one-second buckets.
+   *
+   * <p>Each bucket is stamped with the epoch it is counting. A bucket found holding an older epoch is claimed by
+   * compare-and-set on its stamp, and reset by the winner. An increment for an epoch older than the bucket's is left
+   * out of the windowed counts, rather than counted in a later second. Increments racing with a reset may be lost, so
+   * windowed counts are approximate.</p>
+   */
+  private static final class Counter {
+    final LongAdder total = new LongAdder();
+    final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+    final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    Counter() {
+      for(int i = 0; i < BUCKETS; i++) {
+        this.epochs.set(i, Long.MIN_VALUE);
+        this.buckets[i] = new LongAdder();
+      }
+    }
+
+    void increment(final long epoch) {
+      this.total.increment();
+      final int index = (int) Math.floorMod(epoch, (long) BUCKETS);
+      for(;;) {
+        final long stamp = this.epochs.get(index);
+        if(stamp > epoch) {
+          // the bucket has moved on to a later second while we were running late
+          return;
+        }
+        if(stamp == epoch) {
+          break;
+        }
+        if(this.epochs.compareAndSet(index, stamp, epoch)) {
+          this.buckets[index].reset();
+          break;
+        }
+      }
+      this.buckets[index].increment();
+    }
+
+    // sums the count whole seconds before the one in progress
+    long sum(final long epoch, final int count) {
+      long sum = 0;
+      for(int i = 0; i < BUCKETS; i++) {
+        final long stamp = this.epochs.get(i);
+        if(stamp < epoch && stamp >= epoch - count) {
+          sum += this.buckets[i].sum();
+        }
+      }
+      return sum;
+    }
+  }
+}
@@ -23,6 +23,7 @@
  */
 package net.kyori.mu.exception;
 
+import java.util.concurrent.Executor;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -42,6 +43,38 @@ public interface ExceptionHandler {
     return NopeExceptionHandler.INSTANCE;
   }
 
+  /**
+   * Gets an exception handler that hands exceptions off to {@code delegate} on {@code executor}, queueing up to
+   * {@code 1024} exceptions.
+   *
+   * @param delegate the delegate handler
+   * @param executor the executor to run {@code delegate} on
+   * @return an exception handler
+   * @see #async(ExceptionHandler, Executor, int)
+   */
+  static @NonNull ExceptionHandler async(final @NonNull ExceptionHandler delegate, final @NonNull Executor executor) {
+    return async(delegate, executor, AsyncExceptionHandler.DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Gets an exception handler that hands exceptions off to {@code delegate} on {@code executor}.
+   *
+   * <p>Handling an exception never blocks the calling thread. Exceptions are queued, up to {@code capacity}, and
+   * exceptions beyond that are dropped. While an exception is queued, similar exceptions - of the same type, thrown from
+   * the same place - are counted rather than queued. If there were any duplicates or drops since the last exception
+   * reached {@code delegate}, the next is delivered wrapped in a summary exception stating their approximate counts,
+   * with the original exception as its {@link Throwable#getCause() cause} - the original is never modified.</p>
+   *
+   * @param delegate the delegate handler
+   * @param executor the executor to run {@code delegate} on
+   * @param capacity the maximum number of queued exceptions
+   * @return an exception handler
+   * @throws IllegalArgumentException if {@code capacity} is not positive
+   */
+  static @NonNull ExceptionHandler async(final @NonNull ExceptionHandler delegate, final @NonNull Executor executor, final int capacity) {
+    return new AsyncExceptionHandler(delegate, executor, capacity);
+  }
+
   /**
    * Handles an exception.
    *
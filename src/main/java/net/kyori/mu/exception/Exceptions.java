@@ -26,6 +26,7 @@ package net.kyori.mu.exception;
 import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.ExecutionException;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A collection of methods for working with exceptions.
@@ -88,6 +89,18 @@ public final class Exceptions {
     }
   }
 
+  /**
+   * Throws {@code throwable} if it is fatal - a {@link VirtualMachineError}, {@link ThreadDeath} or
+   * {@link LinkageError} - and so should never be caught and handled as an ordinary failure.
+   *
+   * @param throwable the throwable
+   */
+  public static void throwIfFatal(final @NonNull Throwable throwable) {
+    if(throwable instanceof VirtualMachineError || throwable instanceof ThreadDeath || throwable instanceof LinkageError) {
+      throw (Error) throwable;
+    }
+  }
+
   /**
    * Unwraps a throwable.
    *
@@ -103,4 +116,30 @@ public final class Exceptions {
     }
     return throwable;
   }
+
+  /**
+   * Creates a lightweight exception, without a stack trace.
+   *
+   * <p>Filling in a stack trace is the most expensive part of creating an exception, and grows with the depth of the
+   * stack. Use this for exceptions used as control flow, or thrown at a high rate, whose stack trace is never
+   * inspected. The exception does not record suppressed exceptions.</p>
+   *
+   * @param message the message
+   * @return an exception
+   */
+  public static @NonNull RuntimeException stackless(final @Nullable String message) {
+    return new StacklessException(message, null);
+  }
+
+  /**
+   * Creates a lightweight exception, without a stack trace.
+   *
+   * @param message the message
+   * @param cause the cause
+   * @return an exception
+   * @see #stackless(String)
+   */
+  public static @NonNull RuntimeException stackless(final @Nullable String message, final @Nullable Throwable cause) {
+    return new StacklessException(message, cause);
+  }
 }
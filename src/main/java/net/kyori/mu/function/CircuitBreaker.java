@@ -0,0 +1,469 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.function;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A circuit breaker, which stops calling a failing dependency for a while, rather than having every caller wait for
+ * it to fail.
+ *
+ * <p>While {@link State#CLOSED closed}, calls are permitted and their outcomes recorded over a sliding window. Once
+ * the failure rate within the window reaches a threshold, the breaker {@link State#OPEN opens}, and calls are
+ * rejected with a {@link CircuitBreakerOpenException} without being attempted. After a cool-down, the breaker becomes
+ * {@link State#HALF_OPEN half-open} and permits a single probe call - if it succeeds the breaker closes, otherwise it
+ * opens again.</p>
+ *
+ * <p>The window is split into ten buckets, each covering a tenth of the window. Each bucket packs its epoch and its
+ * counts into a single {@code long}, so recording an outcome - including resetting a stale bucket - is one
+ * compare-and-set, and no locks are taken.</p>
+ *
+ * <p>The state is packed with a generation, which is incremented on every transition. Permits carry the state and
+ * generation they were granted under, and outcomes are only recorded against the same state and generation - so a
+ * slow call admitted while closed can't decide the outcome of a half-open probe.</p>
+ */
+public final class CircuitBreaker {
+  /**
+   * The permit returned by {@link #tryAcquirePermission()} when a call is not permitted.
+   */
+  public static final long NOT_PERMITTED = -1;
+  private static final int STATE_BITS = 2;
+  private static final State[] STATES = State.values();
+  private static final int BUCKETS = 10;
+  // bucket layout: 24 bits of epoch, then 20 bits each of failures and successes
+  private static final int COUNT_BITS = 20;
+  private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+  private static final long EPOCH_MASK = (1L << 24) - 1;
+  private final double failureRateThreshold;
+  private final int minimumCalls;
+  private final long bucketDuration;
+  private final long openDuration;
+  private final Listener listener;
+  private final LongSupplier clock;
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  // generation, then the state ordinal
+  private final AtomicLong state = new AtomicLong(State.CLOSED.ordinal());
+  private volatile long openedAt;
+  // the generation openedAt was written for - written after it, so that a reader matching the generation sees it
+  private volatile long openedGeneration = -1;
+
+  /**
+   * Creates a circuit breaker.
+   *
+   * @param failureRateThreshold the failure rate, between {@code 0} and {@code 1}, at which to open
+   * @param minimumCalls the minimum number of calls within the window before the failure rate is considered
+   * @param window the duration of the sliding window
+   * @param openDuration the duration to stay open for before permitting a probe
+   * @param unit the unit of {@code window} and {@code openDuration}
+   * @return a circuit breaker
+   * @throws IllegalArgumentException if any argument is out of range
+   */
+  public static @NonNull CircuitBreaker create(final double failureRateThreshold, final int minimumCalls, final long window, final long openDuration, final @NonNull TimeUnit unit) {
+    return create(failureRateThreshold, minimumCalls, window, openDuration, unit, Listener.noop(), System::nanoTime);
+  }
+
+  /**
+   * Creates a circuit breaker.
+   *
+   * @param failureRateThreshold the failure rate, between {@code 0} and {@code 1}, at which to open
+   * @param minimumCalls the minimum number of calls within the window before the failure rate is considered
+   * @param window the duration of the sliding window
+   * @param openDuration the duration to stay open for before permitting a probe
+   * @param unit the unit of {@code window} and {@code openDuration}
+   * @param listener the listener notified of state transitions
+   * @param clock the clock, in nanoseconds
+   * @return a circuit breaker
+   * @throws IllegalArgumentException if any argument is out of range
+   */
+  public static @NonNull CircuitBreaker create(final double failureRateThreshold, final int minimumCalls, final long window, final long openDuration, final @NonNull TimeUnit unit, final @NonNull Listener listener, final @NonNull LongSupplier clock) {
+    if(!(failureRateThreshold > 0 && failureRateThreshold <= 1)) throw new IllegalArgumentException("failureRateThreshold must be within (0, 1]: " + failureRateThreshold);
+    if(minimumCalls <= 0) throw new IllegalArgumentException("minimumCalls must be positive: " + minimumCalls);
+    if(window <= 0) throw new IllegalArgumentException("window must be positive: " + window);
+    if(openDuration < 0) throw new IllegalArgumentException("openDuration must not be negative: " + openDuration);
+    return new CircuitBreaker(failureRateThreshold, minimumCalls, Math.max(1, unit.toNanos(window) / BUCKETS), unit.toNanos(openDuration), listener, clock);
+  }
+
+  private CircuitBreaker(final double failureRateThreshold, final int minimumCalls, final long bucketDuration, final long openDuration, final Listener listener, final LongSupplier clock) {
+    this.failureRateThreshold = failureRateThreshold;
+    this.minimumCalls = minimumCalls;
+    this.bucketDuration = bucketDuration;
+    this.openDuration = openDuration;
+    this.listener = listener;
+    this.clock = clock;
+  }
+
+  /**
+   * Gets the current state.
+   *
+   * @return the state
+   */
+  public @NonNull State state() {
+    return state(this.state.get());
+  }
+
+  /**
+   * Gets the failure rate over the sliding window.
+   *
+   * @return the failure rate, between {@code 0} and {@code 1}
+   */
+  public double failureRate() {
+    final long window = this.window();
+    final long calls = successes(window) + failures(window);
+    return calls == 0 ? 0 : (double) failures(window) / calls;
+  }
+
+  /**
+   * Attempts to acquire permission to make a call.
+   *
+   * <p>A caller granted permission must report the outcome by passing the permit to {@link #onSuccess(long)} or
+   * {@link #onFailure(long)}.</p>
+   *
+   * @return a permit, or {@link #NOT_PERMITTED} if the call is not permitted
+   */
+  public long tryAcquirePermission() {
+    final long current = this.state.get();
+    final State state = state(current);
+    if(state == State.CLOSED) {
+      return current;
+    }
+    if(state == State.OPEN && this.openedGeneration == generation(current) && this.clock.getAsLong() - this.openedAt >= this.openDuration) {
+      // only the caller that moves us to half-open gets to probe
+      return this.transition(current, State.HALF_OPEN);
+    }
+    return NOT_PERMITTED;
+  }
+
+  /**
+   * Records a successful call.
+   *
+   * <p>The outcome is ignored if the breaker has changed state since {@code permit} was granted.</p>
+   *
+   * @param permit the permit the call was made under
+   */
+  public void onSuccess(final long permit) {
+    if(this.state.get() != permit) {
+      return;
+    }
+    if(state(permit) == State.HALF_OPEN) {
+      this.reset();
+      this.transition(permit, State.CLOSED);
+    } else {
+      this.record(1);
+    }
+  }
+
+  /**
+   * Records a failed call.
+   *
+   * <p>The outcome is ignored if the breaker has changed state since {@code permit} was granted.</p>
+   *
+   * @param permit the permit the call was made under
+   */
+  public void onFailure(final long permit) {
+    if(this.state.get() != permit) {
+      return;
+    }
+    if(state(permit) == State.HALF_OPEN) {
+      this.open(permit);
+    } else {
+      final long window = this.record(1L << COUNT_BITS);
+      final long failures = failures(window);
+      final long calls = successes(window) + failures;
+      if(calls >= this.minimumCalls && failures >= this.failureRateThreshold * calls) {
+        this.open(permit);
+      }
+    }
+  }
+
+  /**
+   * Calls {@code supplier}, if permitted.
+   *
+   * @param supplier the supplier
+   * @param <T> the result type
+   * @param <E> the exception type
+   * @return the result
+   * @throws E if {@code supplier} throws
+   * @throws CircuitBreakerOpenException if the call is not permitted
+   */
+  public <T, E extends Throwable> T call(final @NonNull ThrowingSupplier<T, E> supplier) throws E {
+    final long permit = this.tryAcquirePermission();
+    if(permit == NOT_PERMITTED) {
+      throw new CircuitBreakerOpenException("circuit breaker is " + this.state().name().toLowerCase(Locale.ROOT));
+    }
+    final T result;
+    try {
+      result = supplier.throwingGet();
+    } catch(final Throwable t) {
+      this.onFailure(permit);
+      throw t;
+    }
+    this.onSuccess(permit);
+    return result;
+  }
+
+  /**
+   * Decorates {@code supplier} with this circuit breaker.
+   *
+   * @param supplier the supplier
+   * @param <T> the result type
+   * @param <E> the exception type
+   * @return a decorated supplier
+   * @see #call(ThrowingSupplier)
+   */
+  public <T, E extends Throwable> @NonNull ThrowingSupplier<T, E> decorateSupplier(final @NonNull ThrowingSupplier<T, E> supplier) {
+    return () -> this.call(supplier);
+  }
+
+  /**
+   * Decorates {@code function} with this circuit breaker.
+   *
+   * @param function the function
+   * @param <T> the input type
+   * @param <R> the output type
+   * @param <E> the exception type
+   * @return a decorated function
+   * @see #call(ThrowingSupplier)
+   */
+  public <T, R, E extends Throwable> @NonNull ThrowingFunction<T, R, E> decorateFunction(final @NonNull ThrowingFunction<T, R, E> function) {
+    return input -> this.call(() -> function.throwingApply(input));
+  }
+
+  /**
+   * Decorates {@code function} with this circuit breaker.
+   *
+   * @param function the function
+   * @param <T> the first input type
+   * @param <U> the second input type
+   * @param <R> the output type
+   * @param <E> the exception type
+   * @return a decorated function
+   * @see #call(ThrowingSupplier)
+   */
+  public <T, U, R, E extends Throwable> @NonNull ThrowingBiFunction<T, U, R, E> decorateBiFunction(final @NonNull ThrowingBiFunction<T, U, R, E> function) {
+    return (first, second) -> this.call(() -> function.throwingApply(first, second));
+  }
+
+  /**
+   * Decorates {@code predicate} with this circuit breaker.
+   *
+   * @param predicate the predicate
+   * @param <T> the input type
+   * @param <E> the exception type
+   * @return a decorated predicate
+   * @see #call(ThrowingSupplier)
+   */
+  public <T, E extends Throwable> @NonNull ThrowingPredicate<T, E> decoratePredicate(final @NonNull ThrowingPredicate<T, E> predicate) {
+    return input -> this.call(() -> predicate.throwingTest(input));
+  }
+
+  /**
+   * Decorates {@code consumer} with this circuit breaker.
+   *
+   * @param consumer the consumer
+   * @param <T> the input type
+   * @param <E> the exception type
+   * @return a decorated consumer
+   * @see #call(ThrowingSupplier)
+   */
+  public <T, E extends Throwable> @NonNull ThrowingConsumer<T, E> decorateConsumer(final @NonNull ThrowingConsumer<T, E> consumer) {
+    return input -> this.call(() -> {
+      consumer.throwingAccept(input);
+      return null;
+    });
+  }
+
+  /**
+   * Decorates {@code consumer} with this circuit breaker.
+   *
+   * @param consumer the consumer
+   * @param <T> the first input type
+   * @param <U> the second input type
+   * @param <E> the exception type
+   * @return a decorated consumer
+   * @see #call(ThrowingSupplier)
+   */
+  public <T, U, E extends Throwable> @NonNull ThrowingBiConsumer<T, U, E> decorateBiConsumer(final @NonNull ThrowingBiConsumer<T, U, E> consumer) {
+    return (first, second) -> this.call(() -> {
+      consumer.throwingAccept(first, second);
+      return null;
+    });
+  }
+
+  /**
+   * Decorates {@code runnable} with this circuit breaker.
+   *
+   * @param runnable the runnable
+   * @param <E> the exception type
+   * @return a decorated runnable
+   * @see #call(ThrowingSupplier)
+   */
+  public <E extends Throwable> @NonNull ThrowingRunnable<E> decorateRunnable(final @NonNull ThrowingRunnable<E> runnable) {
+    return () -> this.call(() -> {
+      runnable.throwingRun();
+      return null;
+    });
+  }
+
+  private void open(final long from) {
+    final long opened = this.transition(from, State.OPEN);
+    if(opened != NOT_PERMITTED) {
+      this.openedAt = this.clock.getAsLong();
+      this.openedGeneration = generation(opened);
+    }
+  }
+
+  /**
+   * Moves from {@code from} to {@code to}, in the next generation.
+   *
+   * @param from the packed state to move from
+   * @param to the state to move to
+   * @return the new packed state, or {@link #NOT_PERMITTED} if the state was no longer {@code from}
+   */
+  private long transition(final long from, final State to) {
+    final long next = ((generation(from) + 1) << STATE_BITS) | to.ordinal();
+    if(this.state.compareAndSet(from, next)) {
+      this.listener.onStateChange(this, state(from), to);
+      return next;
+    }
+    return NOT_PERMITTED;
+  }
+
+  private static State state(final long packed) {
+    return STATES[(int) (packed & ((1 << STATE_BITS) - 1))];
+  }
+
+  private static long generation(final long packed) {
+    return packed >>> STATE_BITS;
+  }
+
+  private long epoch() {
+    return (this.clock.getAsLong() / this.bucketDuration) & EPOCH_MASK;
+  }
+
+  /**
+   * Adds {@code delta} to the current bucket.
+   *
+   * @param delta the packed counts to add
+   * @return the packed counts over the whole window, including {@code delta}
+   */
+  private long record(final long delta) {
+    final long epoch = this.epoch();
+    final int index = (int) (epoch % BUCKETS);
+    for(;;) {
+      final long bucket = this.buckets.get(index);
+      // a stale bucket is from a previous lap of the window - reset it as part of the same update
+      final long current = (bucket >>> (COUNT_BITS << 1)) == epoch ? bucket : epoch << (COUNT_BITS << 1);
+      if(this.buckets.compareAndSet(index, bucket, saturatingAdd(current, delta))) {
+        break;
+      }
+    }
+    return this.window(epoch);
+  }
+
+  private long window() {
+    return this.window(this.epoch());
+  }
+
+  private long window(final long epoch) {
+    long successes = 0;
+    long failures = 0;
+    for(int i = 0; i < BUCKETS; i++) {
+      final long bucket = this.buckets.get(i);
+      if(((epoch - (bucket >>> (COUNT_BITS << 1))) & EPOCH_MASK) < BUCKETS) {
+        successes += successes(bucket);
+        failures += failures(bucket);
+      }
+    }
+    return (Math.min(failures, COUNT_MASK) << COUNT_BITS) | Math.min(successes, COUNT_MASK);
+  }
+
+  private void reset() {
+    for(int i = 0; i < BUCKETS; i++) {
+      this.buckets.set(i, 0);
+    }
+  }
+
+  private static long saturatingAdd(final long bucket, final long delta) {
+    // drop the update rather than overflowing into the neighbouring count
+    if(delta == 1 ? successes(bucket) == COUNT_MASK : failures(bucket) == COUNT_MASK) {
+      return bucket;
+    }
+    return bucket + delta;
+  }
+
+  private static long successes(final long counts) {
+    return counts & COUNT_MASK;
+  }
+
+  private static long failures(final long counts) {
+    return (counts >>> COUNT_BITS) & COUNT_MASK;
+  }
+
+  /**
+   * A circuit breaker state.
+   */
+  public enum State {
+    /**
+     * Calls are permitted, and their outcomes recorded.
+     */
+    CLOSED,
+    /**
+     * Calls are rejected.
+     */
+    OPEN,
+    /**
+     * A single probe call is permitted, to decide whether to close or re-open.
+     */
+    HALF_OPEN;
+  }
+
+  /**
+   * A listener notified of circuit breaker state transitions.
+   */
+  @FunctionalInterface
+  public interface Listener {
+    /**
+     * Gets a listener that does nothing.
+     *
+     * @return a listener that does nothing
+     */
+    static @NonNull Listener noop() {
+      return (breaker, from, to) -> {};
+    }
+
+    /**
+     * Handles a state transition.
+     *
+     * @param breaker the circuit breaker
+     * @param from the previous state
+     * @param to the new state
+     */
+    void onStateChange(final @NonNull CircuitBreaker breaker, final @NonNull State from, final @NonNull State to);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.function;
+
+import java.util.function.BiFunction;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Represents a function that accepts a {@code long}-valued and an object-valued argument, and produces a {@code long}-valued result.
+ *
+ * <p>This is the {@code long}-producing primitive specialization for {@link BiFunction}, and is useful as an
+ * accumulator for folding into a {@code long} without boxing.</p>
+ *
+ * @param <T> the type of the object argument to the function
+ * @see BiFunction
+ * @see ObjLongConsumer
+ */
+@FunctionalInterface
+public interface LongObjToLongFunction<T> {
+  /**
+   * Applies this function to the given arguments.
+   *
+   * @param value the first function argument
+   * @param t the second function argument
+   * @return the function result
+   */
+  long applyAsLong(final long value, final T t);
+}
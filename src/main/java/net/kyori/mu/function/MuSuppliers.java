@@ -0,0 +1,172 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.function;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/*
+ * Name is prefixed with 'Mu' to avoid conflict with com.google.common.base.Suppliers
+ */
+
+/**
+ * A collection of utilities for working with {@link Supplier}.
+ */
+public final class MuSuppliers {
+  private MuSuppliers() {
+  }
+
+  /**
+   * Returns a supplier that computes the result of {@code supplier} once, on first use, and returns it thereafter.
+   *
+   * <p>The returned supplier is thread-safe: {@code supplier} is called at most once successfully, even when first used
+   * by many threads at once. Once initialized, getting the result costs a single volatile read. If {@code supplier}
+   * throws, nothing is cached, and it is called again on next use.</p>
+   *
+   * @param supplier the supplier
+   * @param <T> the result type
+   * @return a memoizing supplier
+   */
+  public static <T> @NonNull Supplier<T> memoize(final @NonNull Supplier<T> supplier) {
+    if(supplier instanceof Memoizing) {
+      return supplier;
+    }
+    return new Memoizing<T, RuntimeException>(supplier::get);
+  }
+
+  /**
+   * Returns a throwing supplier that computes the result of {@code supplier} once, on first use, and returns it
+   * thereafter.
+   *
+   * <p>Failures are never cached - if {@code supplier} throws, the exception is propagated to that caller only, and
+   * {@code supplier} is called again on next use.</p>
+   *
+   * @param supplier the supplier
+   * @param <T> the result type
+   * @param <E> the exception type
+   * @return a memoizing throwing supplier
+   * @see #memoize(Supplier)
+   */
+  public static <T, E extends Throwable> @NonNull ThrowingSupplier<T, E> memoizeThrowing(final @NonNull ThrowingSupplier<T, E> supplier) {
+    if(supplier instanceof Memoizing) {
+      return supplier;
+    }
+    return new Memoizing<>(supplier);
+  }
+
+  /**
+   * Returns a supplier that computes the result of {@code supplier} on first use, and returns it until {@code ttl} has
+   * elapsed, after which it is computed again on next use.
+   *
+   * <p>Once initialized, getting an unexpired result costs a single volatile read, and a read of the clock.</p>
+   *
+   * @param supplier the supplier
+   * @param ttl the time to retain a result for
+   * @param unit the unit of {@code ttl}
+   * @param <T> the result type
+   * @return a memoizing supplier
+   * @throws IllegalArgumentException if {@code ttl} is not positive
+   */
+  public static <T> @NonNull Supplier<T> memoizeWithExpiration(final @NonNull Supplier<T> supplier, final long ttl, final @NonNull TimeUnit unit) {
+    if(ttl <= 0) throw new IllegalArgumentException("ttl must be positive: " + ttl);
+    return new Expiring<>(supplier, unit.toNanos(ttl));
+  }
+
+  /**
+   * A supplier that memoizes a result, with double-checked locking.
+   *
+   * <p>{@code value} is written before {@code initialized}, and read after it, so the volatile write and read of
+   * {@code initialized} publish {@code value} safely without it being volatile itself.</p>
+   */
+  private static final class Memoizing<T, E extends Throwable> implements ThrowingSupplier<T, E> {
+    private @Nullable ThrowingSupplier<T, E> delegate;
+    private volatile boolean initialized;
+    private @Nullable T value;
+
+    Memoizing(final ThrowingSupplier<T, E> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public T throwingGet() throws E {
+      if(!this.initialized) {
+        synchronized(this) {
+          if(!this.initialized) {
+            final T value = this.delegate.throwingGet();
+            this.value = value;
+            this.initialized = true;
+            // release the delegate, and anything it captured, now that it will never be called again
+            this.delegate = null;
+            return value;
+          }
+        }
+      }
+      return this.value;
+    }
+
+    @Override
+    public String toString() {
+      return "MuSuppliers.memoize(" + (this.initialized ? "<initialized>" : this.delegate) + ')';
+    }
+  }
+
+  private static final class Expiring<T> implements Supplier<T> {
+    private final Supplier<T> delegate;
+    private final long ttl;
+    // the time the value expires at, or 0 if uninitialized - written after value, so it publishes value
+    private volatile long expiration;
+    private @Nullable T value;
+
+    Expiring(final Supplier<T> delegate, final long ttl) {
+      this.delegate = delegate;
+      this.ttl = ttl;
+    }
+
+    @Override
+    public T get() {
+      final long expiration = this.expiration;
+      final long now = System.nanoTime();
+      if(expiration == 0 || now - expiration >= 0) {
+        synchronized(this) {
+          if(expiration == this.expiration) {
+            final T value = this.delegate.get();
+            this.value = value;
+            final long next = now + this.ttl;
+            // 0 means uninitialized, so avoid it
+            this.expiration = next == 0 ? 1 : next;
+            return value;
+          }
+        }
+      }
+      return this.value;
+    }
+
+    @Override
+    public String toString() {
+      return "MuSuppliers.memoizeWithExpiration(" + this.delegate + ", " + this.ttl + ", NANOSECONDS)";
+    }
+  }
+}
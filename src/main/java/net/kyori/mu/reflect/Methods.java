@@ -24,19 +24,37 @@
 package net.kyori.mu.reflect;
 
 import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * A collection of utilities for working with methods.
  */
 /* package */ final class Methods {
+  // the names of the methods declared by each class, so that most misses can be answered without an exception
+  private static final ClassValue<Set<String>> DECLARED_NAMES = new ClassValue<Set<String>>() {
+    @Override
+    protected Set<String> computeValue(final Class<?> type) {
+      final Set<String> names = new HashSet<>();
+      for(final Method method : type.getDeclaredMethods()) {
+        names.add(method.getName());
+      }
+      return names;
+    }
+  };
+
   private Methods() {
   }
 
   /* package */ static @Nullable Method findDeclaredIn(final Class<?> klass, final String name, final Class<?>... parameterTypes) {
+    if(!DECLARED_NAMES.get(klass).contains(name)) {
+      return null;
+    }
     try {
       return klass.getDeclaredMethod(name, parameterTypes);
     } catch(final NoSuchMethodException e) {
+      // only reached when the name is declared, but with different parameter types
       return null;
     }
   }
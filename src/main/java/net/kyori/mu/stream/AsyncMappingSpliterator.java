@@ -0,0 +1,220 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import net.kyori.mu.concurrent.CompletableFutures;
+import net.kyori.mu.exception.Exceptions;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A spliterator that maps elements asynchronously, keeping a bounded number of mappings in flight.
+ *
+ * <p>All state besides the completion queue is confined to the consuming thread.</p>
+ */
+/* package */ abstract class AsyncMappingSpliterator<T, R> implements Consumer<T>, Spliterator<R> {
+  private final Spliterator<T> source;
+  private final Function<? super T, ? extends R> function;
+  private final Executor executor;
+  private final int maxInFlight;
+
+  /* package */ AsyncMappingSpliterator(final Spliterator<T> source, final Function<? super T, ? extends R> function, final Executor executor, final int maxInFlight) {
+    this.source = source;
+    this.function = function;
+    this.executor = executor;
+    this.maxInFlight = maxInFlight;
+  }
+
+  @Override
+  public final void accept(final T element) {
+    CompletableFuture<R> future;
+    try {
+      future = CompletableFuture.supplyAsync(() -> this.function.apply(element), this.executor);
+    } catch(final Throwable t) {
+      // the executor may reject the task - surface that where the element would have been consumed
+      future = CompletableFutures.completedExceptionally(t);
+    }
+    this.submitted(future);
+  }
+
+  @Override
+  public final boolean tryAdvance(final Consumer<? super R> action) {
+    while(this.inFlight() < this.maxInFlight && this.source.tryAdvance(this)) {
+      // keep filling until we hit the limit, or run out of elements
+    }
+    if(this.inFlight() == 0) {
+      return false;
+    }
+    final CompletableFuture<R> future = this.next();
+    final R result;
+    try {
+      result = future.join();
+    } catch(final CompletionException e) {
+      this.cancel();
+      final /* @Nullable */ Throwable cause = e.getCause();
+      throw Exceptions.rethrow(cause != null ? cause : e);
+    } catch(final RuntimeException e) {
+      this.cancel();
+      throw e;
+    }
+    action.accept(result);
+    return true;
+  }
+
+  /**
+   * Tracks a newly submitted future.
+   *
+   * @param future the future
+   */
+  protected abstract void submitted(final CompletableFuture<R> future);
+
+  /**
+   * Gets the number of futures which have been submitted but not yet consumed.
+   *
+   * @return the number of futures in flight
+   */
+  protected abstract int inFlight();
+
+  /**
+   * Removes and returns the next future to consume.
+   *
+   * @return the future
+   */
+  protected abstract CompletableFuture<R> next();
+
+  /**
+   * Cancels all futures in flight.
+   */
+  /* package */ abstract void cancel();
+
+  @Override
+  public final @Nullable Spliterator<R> trySplit() {
+    // concurrency comes from the executor, not from splitting
+    return null;
+  }
+
+  @Override
+  public final long estimateSize() {
+    final long size = this.source.estimateSize();
+    return size == Long.MAX_VALUE ? size : size + this.inFlight();
+  }
+
+  /* package */ static final class Ordered<T, R> extends AsyncMappingSpliterator<T, R> {
+    private final Queue<CompletableFuture<R>> futures = new ArrayDeque<>();
+    private final int characteristics;
+
+    /* package */ Ordered(final Spliterator<T> source, final Function<? super T, ? extends R> function, final Executor executor, final int maxInFlight) {
+      super(source, function, executor, maxInFlight);
+      this.characteristics = source.characteristics() & ORDERED;
+    }
+
+    @Override
+    protected void submitted(final CompletableFuture<R> future) {
+      this.futures.add(future);
+    }
+
+    @Override
+    protected int inFlight() {
+      return this.futures.size();
+    }
+
+    @Override
+    protected CompletableFuture<R> next() {
+      return this.futures.remove();
+    }
+
+    @Override
+    /* package */ void cancel() {
+      CompletableFuture<R> future;
+      while((future = this.futures.poll()) != null) {
+        future.cancel(false);
+      }
+    }
+
+    @Override
+    public int characteristics() {
+      return this.characteristics;
+    }
+  }
+
+  /* package */ static final class Unordered<T, R> extends AsyncMappingSpliterator<T, R> {
+    private final Set<CompletableFuture<R>> futures = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final BlockingQueue<CompletableFuture<R>> completed = new LinkedBlockingQueue<>();
+
+    /* package */ Unordered(final Spliterator<T> source, final Function<? super T, ? extends R> function, final Executor executor, final int maxInFlight) {
+      super(source, function, executor, maxInFlight);
+    }
+
+    @Override
+    protected void submitted(final CompletableFuture<R> future) {
+      this.futures.add(future);
+      future.whenComplete((result, throwable) -> this.completed.add(future));
+    }
+
+    @Override
+    protected int inFlight() {
+      return this.futures.size();
+    }
+
+    @Override
+    protected CompletableFuture<R> next() {
+      final CompletableFuture<R> future;
+      try {
+        future = this.completed.take();
+      } catch(final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        this.cancel();
+        throw new CompletionException(e);
+      }
+      this.futures.remove(future);
+      return future;
+    }
+
+    @Override
+    /* package */ void cancel() {
+      for(final CompletableFuture<R> future : this.futures) {
+        future.cancel(false);
+      }
+      this.futures.clear();
+      this.completed.clear();
+    }
+
+    @Override
+    public int characteristics() {
+      return 0;
+    }
+  }
+}
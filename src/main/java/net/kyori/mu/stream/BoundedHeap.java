@@ -0,0 +1,129 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A heap that retains only the {@code k} greatest elements offered to it.
+ *
+ * <p>The heap is a binary min-heap, so the least retained element is always at the root and can be compared against,
+ * and evicted, in {@code O(log k)}.</p>
+ */
+/* package */ final class BoundedHeap<T> {
+  private final int capacity;
+  private final Comparator<? super T> comparator;
+  private Object[] heap;
+  private int size;
+
+  /* package */ BoundedHeap(final int capacity, final Comparator<? super T> comparator) {
+    this.capacity = capacity;
+    this.comparator = comparator;
+    // grow lazily, as k may be much larger than the number of elements
+    this.heap = new Object[Math.min(capacity, 16)];
+  }
+
+  /* package */ void offer(final T element) {
+    if(this.size < this.capacity) {
+      if(this.size == this.heap.length) {
+        this.heap = Arrays.copyOf(this.heap, (int) Math.min(this.capacity, (long) this.size << 1));
+      }
+      this.siftUp(this.size++, element);
+    } else if(this.capacity > 0 && this.comparator.compare(element, this.at(0)) > 0) {
+      this.siftDown(0, element);
+    }
+  }
+
+  /* package */ BoundedHeap<T> merge(final BoundedHeap<T> that) {
+    for(int i = 0; i < that.size; i++) {
+      this.offer(that.at(i));
+    }
+    return this;
+  }
+
+  /**
+   * Drains the heap into a list, greatest element first.
+   *
+   * @return a list
+   */
+  /* package */ List<T> drain() {
+    final Object[] elements = new Object[this.size];
+    for(int i = this.size - 1; i >= 0; i--) {
+      elements[i] = this.at(0);
+      final T last = this.at(--this.size);
+      this.heap[this.size] = null;
+      if(this.size > 0) {
+        this.siftDown(0, last);
+      }
+    }
+    final List<T> list = new ArrayList<>(elements.length);
+    for(final Object element : elements) {
+      list.add(this.cast(element));
+    }
+    return list;
+  }
+
+  private T at(final int index) {
+    return this.cast(this.heap[index]);
+  }
+
+  @SuppressWarnings("unchecked")
+  private T cast(final Object element) {
+    return (T) element;
+  }
+
+  private void siftUp(int index, final T element) {
+    while(index > 0) {
+      final int parent = (index - 1) >>> 1;
+      final T value = this.at(parent);
+      if(this.comparator.compare(element, value) >= 0) {
+        break;
+      }
+      this.heap[index] = value;
+      index = parent;
+    }
+    this.heap[index] = element;
+  }
+
+  private void siftDown(int index, final T element) {
+    final int half = this.size >>> 1;
+    while(index < half) {
+      int child = (index << 1) + 1;
+      final int right = child + 1;
+      if(right < this.size && this.comparator.compare(this.at(right), this.at(child)) < 0) {
+        child = right;
+      }
+      final T value = this.at(child);
+      if(this.comparator.compare(element, value) <= 0) {
+        break;
+      }
+      this.heap[index] = value;
+      index = child;
+    }
+    this.heap[index] = element;
+  }
+}
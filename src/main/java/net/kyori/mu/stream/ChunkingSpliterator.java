@@ -0,0 +1,85 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/* package */ final class ChunkingSpliterator<T> extends GroupingSpliterator<T> {
+  private static final int DEFAULT_CAPACITY = 16;
+  private final int size;
+
+  /* package */ ChunkingSpliterator(final Spliterator<T> source, final int size) {
+    super(source);
+    this.size = size;
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super List<T>> action) {
+    if(!this.pull()) {
+      return false;
+    }
+    // chunks are handed to the consumer, so each one needs its own list
+    final List<T> chunk = new ArrayList<>(this.capacity());
+    chunk.add(this.take());
+    while(chunk.size() < this.size && this.pull()) {
+      chunk.add(this.take());
+    }
+    action.accept(chunk);
+    return true;
+  }
+
+  /**
+   * Gets the initial capacity of the next chunk, once its first element has been pulled.
+   *
+   * <p>The chunk size may be far larger than the number of elements, so we only size exactly when the number of
+   * remaining elements is known, and otherwise let the list grow.</p>
+   *
+   * @return the initial capacity
+   */
+  private int capacity() {
+    final long remaining = this.source.getExactSizeIfKnown();
+    if(remaining >= 0) {
+      // plus the element already pulled
+      return (int) Math.min(this.size, remaining + 1);
+    }
+    return Math.min(this.size, DEFAULT_CAPACITY);
+  }
+
+  @Override
+  protected int groupSize() {
+    return this.size;
+  }
+
+  @Override
+  public long estimateSize() {
+    final long size = this.source.estimateSize();
+    if(size == Long.MAX_VALUE) {
+      return size;
+    }
+    return (size / this.size) + (size % this.size == 0 ? 0 : 1);
+  }
+}
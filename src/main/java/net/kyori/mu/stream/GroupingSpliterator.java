@@ -0,0 +1,114 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A spliterator that groups the elements of a source spliterator into lists.
+ *
+ * <p>Groups depend on the elements before them, so the source cannot be split directly - instead, splitting
+ * buffers a batch of complete groups (growing in size on each split, as {@link Spliterators.AbstractSpliterator}
+ * does) and hands that batch off to another thread.</p>
+ *
+ * @param <T> the element type
+ */
+/* package */ abstract class GroupingSpliterator<T> implements Consumer<T>, Spliterator<List<T>> {
+  private static final int BATCH_UNIT = 1 << 10;
+  private static final int MAX_BATCH = 1 << 25;
+  protected final Spliterator<T> source;
+  private @Nullable T next;
+  private int batch;
+
+  /* package */ GroupingSpliterator(final Spliterator<T> source) {
+    this.source = source;
+  }
+
+  /**
+   * Pulls the next element from the source.
+   *
+   * @return {@code true} if an element was pulled, {@code false} if the source is exhausted
+   */
+  protected final boolean pull() {
+    return this.source.tryAdvance(this);
+  }
+
+  /**
+   * Takes the most recently pulled element.
+   *
+   * @return the element
+   */
+  protected final T take() {
+    final T next = this.next;
+    this.next = null;
+    return next;
+  }
+
+  @Override
+  public final void accept(final T element) {
+    this.next = element;
+  }
+
+  /**
+   * Gets the number of source elements that make up a single group.
+   *
+   * @return the group size
+   */
+  protected abstract int groupSize();
+
+  @Override
+  public final @Nullable Spliterator<List<T>> trySplit() {
+    final int elements = Math.min(this.batch + BATCH_UNIT, MAX_BATCH);
+    final int groups = Math.max(1, elements / this.groupSize());
+    final Object[] buffer = new Object[groups];
+    final Holder<List<T>> holder = new Holder<>();
+    int count = 0;
+    while(count < groups && this.tryAdvance(holder)) {
+      buffer[count++] = holder.value;
+    }
+    if(count == 0) {
+      return null;
+    }
+    this.batch = count * this.groupSize();
+    return Spliterators.spliterator(buffer, 0, count, this.characteristics());
+  }
+
+  @Override
+  public final int characteristics() {
+    return (this.source.characteristics() & ORDERED) | NONNULL;
+  }
+
+  private static final class Holder<T> implements Consumer<T> {
+    T value;
+
+    @Override
+    public void accept(final T value) {
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import net.kyori.mu.exception.Exceptions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A source of streams that lazily caches the elements of another stream, so that it may be traversed many times.
+ *
+ * <p>Elements are stored in a spine of segments that double in size, so growing the cache never copies elements.
+ * Pulling from the underlying stream is serialized, but elements that have already been pulled are read without
+ * locking: each element is written before {@code count} is incremented, so any index below {@code count} is safe
+ * to read.</p>
+ */
+/* package */ final class MemoizedSource<T> implements Consumer<T>, Supplier<Stream<T>> {
+  private static final int FIRST_SEGMENT_SHIFT = 4;
+  private static final int FIRST_SEGMENT_SIZE = 1 << FIRST_SEGMENT_SHIFT;
+  private final Stream<T> stream;
+  private @Nullable Spliterator<T> source;
+  private volatile Object[][] spine = {new Object[FIRST_SEGMENT_SIZE]};
+  private volatile int count;
+  private volatile boolean done;
+  private volatile @Nullable Throwable failure;
+
+  /* package */ MemoizedSource(final Stream<T> stream) {
+    this.stream = stream;
+  }
+
+  @Override
+  public @NonNull Stream<T> get() {
+    return StreamSupport.stream(new MemoizedSpliterator(0, -1), false);
+  }
+
+  private static int segment(final int index) {
+    return 31 - Integer.numberOfLeadingZeros((index >>> FIRST_SEGMENT_SHIFT) + 1);
+  }
+
+  private static int offset(final int index, final int segment) {
+    return index - (FIRST_SEGMENT_SIZE * ((1 << segment) - 1));
+  }
+
+  @SuppressWarnings("unchecked")
+  private T read(final int index) {
+    final int segment = segment(index);
+    return (T) this.spine[segment][offset(index, segment)];
+  }
+
+  /**
+   * Pulls elements from the underlying stream until {@code index} is available, or the stream is exhausted.
+   *
+   * @param index the index
+   */
+  private synchronized void pull(final int index) {
+    final /* @Nullable */ Throwable failure = this.failure;
+    if(failure != null) {
+      throw Exceptions.rethrow(failure);
+    }
+    if(this.source == null && !this.done) {
+      this.source = this.stream.spliterator();
+    }
+    try {
+      while(this.count <= index && !this.done) {
+        if(!this.source.tryAdvance(this)) {
+          this.done = true;
+          this.source = null;
+          this.stream.close();
+        }
+      }
+    } catch(final Throwable t) {
+      this.failure = t;
+      throw t;
+    }
+  }
+
+  @Override
+  public void accept(final T element) {
+    // only called while pulling, so we hold the lock
+    final int index = this.count;
+    final int segment = segment(index);
+    Object[][] spine = this.spine;
+    if(segment == spine.length) {
+      final Object[][] grown = new Object[spine.length + 1][];
+      System.arraycopy(spine, 0, grown, 0, spine.length);
+      grown[segment] = new Object[FIRST_SEGMENT_SIZE << segment];
+      this.spine = spine = grown;
+    }
+    spine[segment][offset(index, segment)] = element;
+    this.count = index + 1;
+  }
+
+  private final class MemoizedSpliterator implements Spliterator<T> {
+    private int index;
+    // -1 until bound, after which this spliterator covers [index, fence)
+    private int fence;
+
+    MemoizedSpliterator(final int index, final int fence) {
+      this.index = index;
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+      final int index = this.index;
+      if(this.fence >= 0 ? index >= this.fence : !this.available(index)) {
+        return false;
+      }
+      this.index = index + 1;
+      action.accept(MemoizedSource.this.read(index));
+      return true;
+    }
+
+    private boolean available(final int index) {
+      if(index < MemoizedSource.this.count) {
+        return true;
+      }
+      if(!MemoizedSource.this.done) {
+        MemoizedSource.this.pull(index);
+      }
+      return index < MemoizedSource.this.count;
+    }
+
+    @Override
+    public @Nullable Spliterator<T> trySplit() {
+      // we can only split once everything has been materialized - until then, the number of elements is unknown
+      if(this.fence < 0) {
+        if(!MemoizedSource.this.done) {
+          return null;
+        }
+        this.fence = MemoizedSource.this.count;
+      }
+      final int index = this.index;
+      final int middle = (index + this.fence) >>> 1;
+      if(index >= middle) {
+        return null;
+      }
+      this.index = middle;
+      return new MemoizedSpliterator(index, middle);
+    }
+
+    @Override
+    public long estimateSize() {
+      if(this.fence >= 0) {
+        return this.fence - this.index;
+      }
+      return MemoizedSource.this.done ? MemoizedSource.this.count - this.index : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+      return this.fence >= 0 ? ORDERED | IMMUTABLE | SIZED | SUBSIZED : ORDERED | IMMUTABLE;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/*
+ * Name is prefixed with 'Mu' to avoid conflict with java.util.stream.Collectors
+ */
+
+/**
+ * A collection of collectors.
+ */
+public final class MuCollectors {
+  private MuCollectors() {
+  }
+
+  /**
+   * Returns a collector that accumulates the {@code k} greatest elements, according to their natural ordering, into a
+   * list ordered from greatest to least.
+   *
+   * @param k the maximum number of elements to retain
+   * @param <T> the element type
+   * @return a collector
+   * @throws IllegalArgumentException if {@code k} is negative
+   * @see #topK(int, Comparator)
+   */
+  public static <T extends Comparable<? super T>> @NonNull Collector<T, ?, List<T>> topK(final int k) {
+    return topK(k, Comparator.<T>naturalOrder());
+  }
+
+  /**
+   * Returns a collector that accumulates the {@code k} greatest elements, according to {@code comparator}, into a list
+   * ordered from greatest to least.
+   *
+   * <p>Elements are accumulated into a heap bounded to {@code k} elements, so this uses {@code O(k)} memory and
+   * {@code O(n log k)} time, rather than sorting the entire stream. In parallel streams, each thread accumulates its own
+   * heap and heaps are merged at the end. The order of elements which compare equal is unspecified.</p>
+   *
+   * @param k the maximum number of elements to retain
+   * @param comparator the comparator
+   * @param <T> the element type
+   * @return a collector
+   * @throws IllegalArgumentException if {@code k} is negative
+   */
+  public static <T> @NonNull Collector<T, ?, List<T>> topK(final int k, final @NonNull Comparator<? super T> comparator) {
+    if(k < 0) throw new IllegalArgumentException("k must not be negative: " + k);
+    return Collector.<T, BoundedHeap<T>, List<T>>of(
+      () -> new BoundedHeap<>(k, comparator),
+      BoundedHeap::offer,
+      BoundedHeap::merge,
+      BoundedHeap::drain
+    );
+  }
+
+  /**
+   * Returns a collector that accumulates the {@code k} least elements, according to their natural ordering, into a list
+   * ordered from least to greatest.
+   *
+   * @param k the maximum number of elements to retain
+   * @param <T> the element type
+   * @return a collector
+   * @throws IllegalArgumentException if {@code k} is negative
+   * @see #bottomK(int, Comparator)
+   */
+  public static <T extends Comparable<? super T>> @NonNull Collector<T, ?, List<T>> bottomK(final int k) {
+    return bottomK(k, Comparator.<T>naturalOrder());
+  }
+
+  /**
+   * Returns a collector that accumulates the {@code k} least elements, according to {@code comparator}, into a list
+   * ordered from least to greatest.
+   *
+   * @param k the maximum number of elements to retain
+   * @param comparator the comparator
+   * @param <T> the element type
+   * @return a collector
+   * @throws IllegalArgumentException if {@code k} is negative
+   * @see #topK(int, Comparator)
+   */
+  public static <T> @NonNull Collector<T, ?, List<T>> bottomK(final int k, final @NonNull Comparator<? super T> comparator) {
+    return topK(k, comparator.reversed());
+  }
+}
@@ -23,10 +23,23 @@
  */
 package net.kyori.mu.stream;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import net.kyori.mu.collection.MuIterators;
+import net.kyori.mu.concurrent.MuFlow;
+import net.kyori.mu.exception.Exceptions;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /*
@@ -90,4 +103,210 @@ public final class MuStreams {
   public static <T> @NonNull Stream<T> cast(final @NonNull Stream<?> stream, final @NonNull Class<T> type) {
     return stream.filter(type::isInstance).map(type::cast);
   }
+
+  /**
+   * Creates a stream of consecutive, non-overlapping chunks of {@code size} elements taken from {@code stream}.
+   *
+   * <p>The final chunk may contain fewer than {@code size} elements. Chunks are created lazily as they are
+   * consumed, so at most one chunk is held in memory at a time when consumed sequentially.</p>
+   *
+   * @param stream the stream
+   * @param size the chunk size
+   * @param <T> the element type
+   * @return a stream of chunks
+   * @throws IllegalArgumentException if {@code size} is not positive
+   */
+  public static <T> @NonNull Stream<List<T>> chunked(final @NonNull Stream<T> stream, final int size) {
+    if(size <= 0) throw new IllegalArgumentException("size must be positive: " + size);
+    return StreamSupport.stream(new ChunkingSpliterator<>(stream.spliterator(), size), stream.isParallel()).onClose(stream::close);
+  }
+
+  /**
+   * Creates a stream of sliding windows of {@code size} elements taken from {@code stream}, where each window starts
+   * {@code step} elements after the previous one.
+   *
+   * <p>Windows overlap when {@code step} is less than {@code size}, and elements are skipped when {@code step} is greater
+   * than {@code size}. Trailing elements that cannot fill a complete window are discarded. A single buffer of
+   * {@code size} elements is reused while building windows, so memory use does not depend on the length of
+   * {@code stream}.</p>
+   *
+   * @param stream the stream
+   * @param size the window size
+   * @param step the distance between the start of each window
+   * @param <T> the element type
+   * @return a stream of windows
+   * @throws IllegalArgumentException if {@code size} or {@code step} is not positive
+   */
+  public static <T> @NonNull Stream<List<T>> windowed(final @NonNull Stream<T> stream, final int size, final int step) {
+    if(size <= 0) throw new IllegalArgumentException("size must be positive: " + size);
+    if(step <= 0) throw new IllegalArgumentException("step must be positive: " + step);
+    return StreamSupport.stream(new WindowingSpliterator<>(stream.spliterator(), size, step), stream.isParallel()).onClose(stream::close);
+  }
+
+  /**
+   * Creates a stream whose elements are the results of applying {@code function} to the elements of {@code stream} on
+   * {@code executor}, keeping at most {@code maxInFlight} applications outstanding at once.
+   *
+   * <p>Results are produced in the encounter order of {@code stream}. Elements are only pulled from {@code stream} as
+   * results are consumed, so a slow consumer will not cause unbounded work to be submitted.</p>
+   *
+   * <p>If an application fails, or {@code executor} rejects it, the failure is thrown from the terminal operation once
+   * the result would have been consumed, and all outstanding applications are cancelled. Closing the returned stream
+   * also cancels outstanding applications.</p>
+   *
+   * @param stream the stream
+   * @param function the mapping function
+   * @param executor the executor to apply {@code function} on
+   * @param maxInFlight the maximum number of outstanding applications
+   * @param <T> the element type
+   * @param <R> the result type
+   * @return a stream of results
+   * @throws IllegalArgumentException if {@code maxInFlight} is not positive
+   * @see #mapAsyncUnordered(Stream, Function, Executor, int)
+   */
+  public static <T, R> @NonNull Stream<R> mapAsync(final @NonNull Stream<T> stream, final @NonNull Function<? super T, ? extends R> function, final @NonNull Executor executor, final int maxInFlight) {
+    if(maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+    return mapAsync(stream, new AsyncMappingSpliterator.Ordered<>(stream.spliterator(), function, executor, maxInFlight));
+  }
+
+  /**
+   * Creates a stream whose elements are the results of applying {@code function} to the elements of {@code stream} on
+   * {@code executor}, keeping at most {@code maxInFlight} applications outstanding at once.
+   *
+   * <p>Unlike {@link #mapAsync(Stream, Function, Executor, int)}, results are produced in the order they complete, so a
+   * single slow application does not hold back the results after it.</p>
+   *
+   * @param stream the stream
+   * @param function the mapping function
+   * @param executor the executor to apply {@code function} on
+   * @param maxInFlight the maximum number of outstanding applications
+   * @param <T> the element type
+   * @param <R> the result type
+   * @return a stream of results
+   * @throws IllegalArgumentException if {@code maxInFlight} is not positive
+   * @see #mapAsync(Stream, Function, Executor, int)
+   */
+  public static <T, R> @NonNull Stream<R> mapAsyncUnordered(final @NonNull Stream<T> stream, final @NonNull Function<? super T, ? extends R> function, final @NonNull Executor executor, final int maxInFlight) {
+    if(maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+    return mapAsync(stream, new AsyncMappingSpliterator.Unordered<>(stream.spliterator(), function, executor, maxInFlight));
+  }
+
+  private static <R> @NonNull Stream<R> mapAsync(final @NonNull Stream<?> stream, final @NonNull AsyncMappingSpliterator<?, R> spliterator) {
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel).onClose(stream::close);
+  }
+
+  /**
+   * Creates a parallel stream whose terminal operations run inside {@code pool}, rather than the
+   * {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * <p>Parallel streams fork their work into the pool of the thread that runs the terminal operation, so running
+   * heavy pipelines in a dedicated pool keeps them from starving other users of the common pool.</p>
+   *
+   * @param pool the pool
+   * @param stream the stream
+   * @param <T> the element type
+   * @return a pooled stream
+   * @see net.kyori.mu.concurrent.ForkJoinPools#create(String, int)
+   */
+  public static <T> @NonNull PooledStream<T> parallelIn(final @NonNull ForkJoinPool pool, final @NonNull Stream<T> stream) {
+    return new PooledStreamImpl<>(pool, stream);
+  }
+
+  /**
+   * Creates a publisher that emits the elements of {@code stream} to a single subscriber, as they are requested.
+   *
+   * <p>Elements are pulled from {@code stream} on {@code executor}, and only while the subscriber has outstanding
+   * demand. Cancelling the subscription closes {@code stream}, as does reaching its end. Since a stream can only be
+   * traversed once, any further subscribers are immediately signalled an {@link IllegalStateException}.</p>
+   *
+   * @param stream the stream
+   * @param executor the executor to emit elements on
+   * @param <T> the element type
+   * @return a publisher
+   */
+  public static <T> MuFlow.@NonNull Publisher<T> toPublisher(final @NonNull Stream<T> stream, final @NonNull Executor executor) {
+    return new StreamPublisher<>(stream, executor);
+  }
+
+  /**
+   * Creates a stream that subscribes to {@code publisher} and emits the items it publishes.
+   *
+   * <p>The subscription is made when the stream begins to be traversed. At most {@code prefetch} items are requested
+   * ahead of consumption, and demand is replenished in batches as items are consumed. The terminal operation blocks
+   * while waiting for items. Closing the stream cancels the subscription.</p>
+   *
+   * @param publisher the publisher
+   * @param prefetch the maximum number of items to request ahead of consumption
+   * @param <T> the element type
+   * @return a stream
+   * @throws IllegalArgumentException if {@code prefetch} is not positive
+   */
+  public static <T> @NonNull Stream<T> fromPublisher(final MuFlow.@NonNull Publisher<? extends T> publisher, final int prefetch) {
+    if(prefetch <= 0) throw new IllegalArgumentException("prefetch must be positive: " + prefetch);
+    final PublisherSpliterator<T> spliterator = new PublisherSpliterator<>(publisher, prefetch);
+    return StreamSupport.stream(spliterator, false).onClose(spliterator::cancel);
+  }
+
+  /**
+   * Creates a source of streams over the elements of {@code stream}, which may be traversed any number of times.
+   *
+   * <p>Elements are pulled from {@code stream} lazily, by whichever traversal first needs them, and cached as they
+   * are pulled. Later traversals - including ones running concurrently - read the already cached elements without
+   * pulling from {@code stream} again. {@code stream} is closed once it has been exhausted.</p>
+   *
+   * @param stream the stream
+   * @param <T> the element type
+   * @return a source of streams
+   */
+  public static <T> @NonNull Supplier<Stream<T>> memoize(final @NonNull Stream<T> stream) {
+    return new MemoizedSource<>(stream);
+  }
+
+  /**
+   * Creates a stream that merges {@code streams}, each of which must already be sorted according to
+   * {@code comparator}, into a single sorted stream.
+   *
+   * <p>Elements are merged lazily with a binary heap, so each element costs {@code O(log k)} comparisons for
+   * {@code k} streams. Elements which compare equal are emitted in the order of the streams they came from. Closing
+   * the returned stream closes all of {@code streams}.</p>
+   *
+   * @param streams the sorted streams
+   * @param comparator the comparator the streams are sorted by
+   * @param <T> the element type
+   * @return a merged stream
+   * @see MuIterators#mergeSorted(Iterable, Comparator)
+   */
+  public static <T> @NonNull Stream<T> mergeSorted(final @NonNull Collection<? extends Stream<? extends T>> streams, final @NonNull Comparator<? super T> comparator) {
+    final List<Iterator<? extends T>> iterators = new ArrayList<>(streams.size());
+    long size = 0;
+    for(final Stream<? extends T> stream : streams) {
+      final Spliterator<? extends T> spliterator = stream.spliterator();
+      size = spliterator.hasCharacteristics(Spliterator.SIZED) && size >= 0 ? size + spliterator.getExactSizeIfKnown() : -1;
+      iterators.add(Spliterators.iterator(spliterator));
+    }
+    final Iterator<T> iterator = MuIterators.mergeSorted(iterators, comparator);
+    final Spliterator<T> spliterator = size >= 0
+      ? Spliterators.spliterator(iterator, size, Spliterator.ORDERED)
+      : Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED);
+    return StreamSupport.stream(spliterator, false).onClose(() -> closeAll(streams));
+  }
+
+  // closes every stream, even if some fail to close - later failures are suppressed by the first, as Stream#concat does
+  private static void closeAll(final Collection<? extends Stream<?>> streams) {
+    /* @Nullable */ Throwable failure = null;
+    for(final Stream<?> stream : streams) {
+      try {
+        stream.close();
+      } catch(final Throwable t) {
+        if(failure == null) {
+          failure = t;
+        } else if(failure != t) {
+          failure.addSuppressed(t);
+        }
+      }
+    }
+    if(failure != null) {
+      throw Exceptions.rethrow(failure);
+    }
+  }
 }
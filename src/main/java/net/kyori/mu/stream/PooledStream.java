@@ -0,0 +1,137 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import net.kyori.mu.concurrent.PoolMetrics;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A parallel stream whose terminal operations run inside a specific {@link ForkJoinPool}, rather than the
+ * {@link ForkJoinPool#commonPool() common pool}.
+ *
+ * @param <T> the element type
+ * @see MuStreams#parallelIn(ForkJoinPool, Stream)
+ */
+public interface PooledStream<T> {
+  /**
+   * Gets the pool terminal operations run in.
+   *
+   * @return the pool
+   */
+  @NonNull ForkJoinPool pool();
+
+  /**
+   * Gets a snapshot of the metrics of the pool terminal operations run in.
+   *
+   * @return the pool metrics
+   */
+  default @NonNull PoolMetrics metrics() {
+    return PoolMetrics.of(this.pool());
+  }
+
+  /**
+   * Runs {@code terminal} against the stream inside the pool, waiting for it to complete.
+   *
+   * @param terminal the terminal operation
+   * @param <R> the result type
+   * @return the result
+   */
+  <R> /* @Nullable */ R apply(final @NonNull Function<? super Stream<T>, ? extends R> terminal);
+
+  /**
+   * Runs {@code terminal} against the stream inside the pool, without waiting for it to complete.
+   *
+   * @param terminal the terminal operation
+   * @param <R> the result type
+   * @return a future completed with the result
+   */
+  <R> @NonNull CompletableFuture<R> applyAsync(final @NonNull Function<? super Stream<T>, ? extends R> terminal);
+
+  /**
+   * Performs a mutable reduction on the elements of the stream inside the pool.
+   *
+   * @param collector the collector
+   * @param <R> the result type
+   * @param <A> the intermediate accumulation type
+   * @return the result
+   * @see Stream#collect(Collector)
+   */
+  default <R, A> /* @Nullable */ R collect(final @NonNull Collector<? super T, A, R> collector) {
+    return this.apply(stream -> stream.collect(collector));
+  }
+
+  /**
+   * Performs {@code action} for each element of the stream inside the pool.
+   *
+   * @param action the action
+   * @see Stream#forEach(Consumer)
+   */
+  default void forEach(final @NonNull Consumer<? super T> action) {
+    this.apply(stream -> {
+      stream.forEach(action);
+      return null;
+    });
+  }
+
+  /**
+   * Performs a reduction on the elements of the stream inside the pool.
+   *
+   * @param identity the identity value
+   * @param accumulator the accumulator
+   * @return the result
+   * @see Stream#reduce(Object, BinaryOperator)
+   */
+  default /* @Nullable */ T reduce(final /* @Nullable */ T identity, final @NonNull BinaryOperator<T> accumulator) {
+    return this.apply(stream -> stream.reduce(identity, accumulator));
+  }
+
+  /**
+   * Performs a reduction on the elements of the stream inside the pool.
+   *
+   * @param accumulator the accumulator
+   * @return the result
+   * @see Stream#reduce(BinaryOperator)
+   */
+  default @NonNull Optional<T> reduce(final @NonNull BinaryOperator<T> accumulator) {
+    return this.apply(stream -> stream.reduce(accumulator));
+  }
+
+  /**
+   * Counts the elements of the stream inside the pool.
+   *
+   * @return the element count
+   * @see Stream#count()
+   */
+  default long count() {
+    return this.apply(Stream::count);
+  }
+}
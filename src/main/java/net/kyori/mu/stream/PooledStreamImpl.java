@@ -0,0 +1,69 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import net.kyori.mu.exception.Exceptions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/* package */ final class PooledStreamImpl<T> implements PooledStream<T> {
+  private final ForkJoinPool pool;
+  private final Stream<T> stream;
+
+  /* package */ PooledStreamImpl(final ForkJoinPool pool, final Stream<T> stream) {
+    this.pool = pool;
+    this.stream = stream.parallel();
+  }
+
+  @Override
+  public @NonNull ForkJoinPool pool() {
+    return this.pool;
+  }
+
+  @Override
+  public <R> R apply(final @NonNull Function<? super Stream<T>, ? extends R> terminal) {
+    // parallel streams fork their tasks into the pool of the thread running the terminal operation, so we're already there
+    if(ForkJoinTask.getPool() == this.pool) {
+      return terminal.apply(this.stream);
+    }
+    try {
+      return this.pool.submit(() -> terminal.apply(this.stream)).get();
+    } catch(final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw Exceptions.rethrow(e);
+    } catch(final ExecutionException e) {
+      throw Exceptions.rethrow(Exceptions.unwrap(e));
+    }
+  }
+
+  @Override
+  public <R> @NonNull CompletableFuture<R> applyAsync(final @NonNull Function<? super Stream<T>, ? extends R> terminal) {
+    return CompletableFuture.supplyAsync(() -> terminal.apply(this.stream), this.pool);
+  }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import net.kyori.mu.concurrent.MuFlow;
+import net.kyori.mu.exception.Exceptions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A spliterator that subscribes to a publisher, requesting items in batches as they are consumed.
+ *
+ * <p>At most {@code prefetch} items are ever requested but not yet consumed, so the queue never grows beyond that.</p>
+ */
+/* package */ final class PublisherSpliterator<T> implements MuFlow.Subscriber<T>, Spliterator<T> {
+  private final MuFlow.Publisher<? extends T> publisher;
+  private final int prefetch;
+  private final int limit;
+  private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+  private volatile MuFlow.@Nullable Subscription subscription;
+  private volatile @Nullable Thread waiter;
+  private volatile @Nullable Throwable error;
+  private volatile boolean done;
+  private boolean subscribed;
+  private int consumed;
+
+  /* package */ PublisherSpliterator(final MuFlow.Publisher<? extends T> publisher, final int prefetch) {
+    this.publisher = publisher;
+    this.prefetch = prefetch;
+    // replenish once three quarters of the prefetched items have been consumed
+    this.limit = Math.max(1, prefetch - (prefetch >> 2));
+  }
+
+  @Override
+  public void onSubscribe(final MuFlow.@NonNull Subscription subscription) {
+    if(this.subscription != null) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    subscription.request(this.prefetch);
+  }
+
+  @Override
+  public void onNext(final @NonNull T item) {
+    this.queue.offer(requireNonNull(item, "item"));
+    this.signal();
+  }
+
+  @Override
+  public void onError(final @NonNull Throwable throwable) {
+    this.error = throwable;
+    this.done = true;
+    this.signal();
+  }
+
+  @Override
+  public void onComplete() {
+    this.done = true;
+    this.signal();
+  }
+
+  private void signal() {
+    final /* @Nullable */ Thread waiter = this.waiter;
+    if(waiter != null) {
+      LockSupport.unpark(waiter);
+    }
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super T> action) {
+    if(!this.subscribed) {
+      this.subscribed = true;
+      this.publisher.subscribe(this);
+    }
+    for(;;) {
+      final /* @Nullable */ T item = this.queue.poll();
+      if(item != null) {
+        if(++this.consumed == this.limit) {
+          this.consumed = 0;
+          final MuFlow./* @Nullable */ Subscription subscription = this.subscription;
+          if(subscription != null) {
+            subscription.request(this.limit);
+          }
+        }
+        action.accept(item);
+        return true;
+      }
+      if(this.done) {
+        // an item may have been queued between our poll and the terminal signal
+        if(!this.queue.isEmpty()) {
+          continue;
+        }
+        final /* @Nullable */ Throwable error = this.error;
+        if(error != null) {
+          throw Exceptions.rethrow(error);
+        }
+        return false;
+      }
+      this.await();
+    }
+  }
+
+  private void await() {
+    this.waiter = Thread.currentThread();
+    // re-check now that we're visible as the waiter, to avoid missing a signal
+    if(this.queue.isEmpty() && !this.done) {
+      LockSupport.park(this);
+    }
+    this.waiter = null;
+    if(Thread.interrupted()) {
+      this.cancel();
+      Thread.currentThread().interrupt();
+      throw Exceptions.rethrow(new InterruptedException());
+    }
+  }
+
+  /* package */ void cancel() {
+    this.done = true;
+    final MuFlow./* @Nullable */ Subscription subscription = this.subscription;
+    if(subscription != null) {
+      subscription.cancel();
+    }
+    this.queue.clear();
+  }
+
+  @Override
+  public @Nullable Spliterator<T> trySplit() {
+    return null;
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | NONNULL;
+  }
+}
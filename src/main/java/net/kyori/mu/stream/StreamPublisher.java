@@ -0,0 +1,211 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import net.kyori.mu.concurrent.MuFlow;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A publisher that emits the elements of a stream on demand.
+ *
+ * <p>A stream can only be traversed once, so only the first subscriber receives elements.</p>
+ */
+/* package */ final class StreamPublisher<T> implements MuFlow.Publisher<T> {
+  private final Stream<T> stream;
+  private final Executor executor;
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+
+  /* package */ StreamPublisher(final Stream<T> stream, final Executor executor) {
+    this.stream = stream;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(final MuFlow.@NonNull Subscriber<? super T> subscriber) {
+    if(!this.subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(Rejected.INSTANCE);
+      subscriber.onError(new IllegalStateException("stream has already been subscribed to"));
+      return;
+    }
+    final StreamSubscription<T> subscription = new StreamSubscription<>(subscriber, this.stream, this.executor);
+    subscriber.onSubscribe(subscription);
+    subscription.start();
+  }
+
+  private enum Rejected implements MuFlow.Subscription {
+    INSTANCE;
+
+    @Override
+    public void request(final long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  }
+
+  /**
+   * A subscription that drains the stream on an executor.
+   *
+   * <p>Calls to {@link #request(long)} and {@link #cancel()} only update state and schedule a drain - all interaction with
+   * the stream and the subscriber happens inside the drain, which is never run by more than one thread at a time.</p>
+   *
+   * <p>The subscription is created holding the drain, so that requests and cancellation made within
+   * {@code onSubscribe} are recorded, and acted on once it returns.</p>
+   */
+  /* package */ static final class StreamSubscription<T> implements MuFlow.Subscription, Runnable {
+    // the maximum number of elements emitted in a single drain before yielding the executor thread
+    private static final int BATCH = 256;
+    private final MuFlow.Subscriber<? super T> subscriber;
+    private final Stream<T> stream;
+    private final Executor executor;
+    private final AtomicLong requested = new AtomicLong();
+    // held until start() is called
+    private final AtomicInteger wip = new AtomicInteger(1);
+    private @Nullable Iterator<T> iterator;
+    private volatile @Nullable Throwable invalidRequest;
+    private volatile boolean cancelled;
+    private boolean done;
+
+    /* package */ StreamSubscription(final MuFlow.Subscriber<? super T> subscriber, final Stream<T> stream, final Executor executor) {
+      this.subscriber = subscriber;
+      this.stream = stream;
+      this.executor = executor;
+    }
+
+    @Override
+    public void request(final long n) {
+      if(n <= 0) {
+        this.invalidRequest = new IllegalArgumentException("non-positive request: " + n);
+      } else {
+        this.requested.accumulateAndGet(n, (current, added) -> {
+          final long sum = current + added;
+          return sum < 0 ? Long.MAX_VALUE : sum;
+        });
+      }
+      this.schedule();
+    }
+
+    @Override
+    public void cancel() {
+      this.cancelled = true;
+      this.schedule();
+    }
+
+    /* package */ void start() {
+      // release the drain, unless something was requested or cancelled in the meantime
+      if(this.wip.decrementAndGet() != 0) {
+        this.execute();
+      }
+    }
+
+    private void schedule() {
+      if(this.wip.getAndIncrement() == 0) {
+        this.execute();
+      }
+    }
+
+    /**
+     * Runs a drain on the executor, which must only be called while holding the drain.
+     */
+    private void execute() {
+      try {
+        this.executor.execute(this);
+      } catch(final Throwable t) {
+        // we still hold the drain, so nobody else can be signalling the subscriber
+        this.terminate(t, true);
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      int emitted = 0;
+      while(!this.done) {
+        if(this.cancelled) {
+          this.terminate(null, false);
+          return;
+        }
+        final /* @Nullable */ Throwable invalidRequest = this.invalidRequest;
+        if(invalidRequest != null) {
+          this.terminate(invalidRequest, true);
+          return;
+        }
+        final long requested = this.requested.get();
+        long sent = 0;
+        try {
+          if(this.iterator == null) {
+            this.iterator = this.stream.iterator();
+          }
+          // only look for the next element on behalf of outstanding demand, so that nothing is pulled early
+          while(sent != requested && emitted < BATCH && !this.cancelled) {
+            if(!this.iterator.hasNext()) {
+              this.terminate(null, true);
+              return;
+            }
+            this.subscriber.onNext(this.iterator.next());
+            sent++;
+            emitted++;
+          }
+        } catch(final Throwable t) {
+          this.terminate(t, true);
+          return;
+        }
+        if(sent != 0 && requested != Long.MAX_VALUE) {
+          this.requested.addAndGet(-sent);
+        }
+        if(emitted >= BATCH) {
+          // give other tasks a chance to run - wip is still held, so nobody else will drain in the meantime
+          this.wip.set(1);
+          this.execute();
+          return;
+        }
+        missed = this.wip.addAndGet(-missed);
+        if(missed == 0) {
+          return;
+        }
+      }
+    }
+
+    private void terminate(final @Nullable Throwable error, final boolean signal) {
+      this.done = true;
+      this.cancelled = true;
+      this.stream.close();
+      if(signal) {
+        if(error != null) {
+          this.subscriber.onError(error);
+        } else {
+          this.subscriber.onComplete();
+        }
+      }
+    }
+  }
+}
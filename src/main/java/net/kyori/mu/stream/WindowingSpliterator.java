@@ -0,0 +1,111 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/* package */ final class WindowingSpliterator<T> extends GroupingSpliterator<T> {
+  private final int size;
+  private final int step;
+  // a ring buffer holding the window under construction - it is reused for every window, and only copied out when emitting
+  private final Object[] ring;
+  private int head;
+  private int filled;
+  private int skip;
+
+  /* package */ WindowingSpliterator(final Spliterator<T> source, final int size, final int step) {
+    super(source);
+    this.size = size;
+    this.step = step;
+    this.ring = new Object[size];
+  }
+
+  @Override
+  public boolean tryAdvance(final Consumer<? super List<T>> action) {
+    while(this.skip > 0) {
+      if(!this.pull()) {
+        return false;
+      }
+      this.take();
+      this.skip--;
+    }
+    while(this.filled < this.size) {
+      if(!this.pull()) {
+        // drop the partial window, we'll never be able to complete it
+        Arrays.fill(this.ring, null);
+        this.filled = 0;
+        return false;
+      }
+      this.ring[(this.head + this.filled++) % this.size] = this.take();
+    }
+    final Object[] window = new Object[this.size];
+    final int tail = this.size - this.head;
+    System.arraycopy(this.ring, this.head, window, 0, tail);
+    System.arraycopy(this.ring, 0, window, tail, this.head);
+    this.slide();
+    action.accept(window(window));
+    return true;
+  }
+
+  private void slide() {
+    if(this.step < this.size) {
+      for(int i = 0; i < this.step; i++) {
+        this.ring[(this.head + i) % this.size] = null;
+      }
+      this.head = (this.head + this.step) % this.size;
+      this.filled -= this.step;
+    } else {
+      Arrays.fill(this.ring, null);
+      this.head = 0;
+      this.filled = 0;
+      this.skip = this.step - this.size;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> List<T> window(final Object[] elements) {
+    return (List<T>) Arrays.asList(elements);
+  }
+
+  @Override
+  protected int groupSize() {
+    return this.step;
+  }
+
+  @Override
+  public long estimateSize() {
+    final long size = this.source.estimateSize();
+    if(size == Long.MAX_VALUE) {
+      return size;
+    }
+    final long available = size + this.filled - this.skip;
+    if(available < this.size) {
+      return 0;
+    }
+    return ((available - this.size) / this.step) + 1;
+  }
+}
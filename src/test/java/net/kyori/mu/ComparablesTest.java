@@ -23,9 +23,17 @@
  */
 package net.kyori.mu;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -70,4 +78,87 @@ class ComparablesTest {
     assertEquals(10, (int) Comparables.max(5, 10));
     assertEquals(15, (int) Comparables.max(15, 10));
   }
+
+  @Test
+  void testSortByKey() {
+    final AtomicInteger calls = new AtomicInteger();
+    final List<String> list = new ArrayList<>(Arrays.asList("ccc", "a", "dd", "b", "eee"));
+    Comparables.sortByKey(list, string -> {
+      calls.incrementAndGet();
+      return string.length();
+    });
+    assertEquals(Arrays.asList("a", "b", "dd", "ccc", "eee"), list);
+    assertEquals(5, calls.get());
+
+    final List<String> linked = new LinkedList<>(Arrays.asList("ccc", "a", "dd", "b", "eee"));
+    Comparables.sortByKey(linked, String::length, Comparator.reverseOrder());
+    assertEquals(Arrays.asList("ccc", "eee", "dd", "a", "b"), linked);
+
+    final String[] array = {"ccc", "a", "dd", "b", "eee"};
+    Comparables.sortByKey(array, String::length);
+    assertArrayEquals(new String[]{"a", "b", "dd", "ccc", "eee"}, array);
+  }
+
+  @Test
+  void testSortByPrimitiveKey() {
+    final Random random = new Random(42);
+    // cover both the merge sort and the radix sort
+    for(final int size : new int[]{0, 1, 10, 100, KeySorts.RADIX_THRESHOLD - 1, KeySorts.RADIX_THRESHOLD * 4}) {
+      final List<Sample> samples = new ArrayList<>(size);
+      for(int i = 0; i < size; i++) {
+        samples.add(new Sample(i, random.nextInt(64) - 32, random.nextBoolean() ? random.nextLong() : random.nextInt(16), sampleDouble(random)));
+      }
+
+      final List<Sample> byInt = new ArrayList<>(samples);
+      Comparables.sortByIntKey(byInt, sample -> sample.i);
+      assertEquals(sorted(samples, Comparator.comparingInt(sample -> sample.i)), byInt);
+
+      final List<Sample> byLong = new ArrayList<>(samples);
+      Comparables.sortByLongKey(byLong, sample -> sample.l);
+      assertEquals(sorted(samples, Comparator.comparingLong(sample -> sample.l)), byLong);
+
+      final List<Sample> byDouble = new ArrayList<>(samples);
+      Comparables.sortByDoubleKey(byDouble, sample -> sample.d);
+      assertEquals(sorted(samples, Comparator.comparingDouble(sample -> sample.d)), byDouble);
+
+      final Sample[] array = samples.toArray(new Sample[0]);
+      Comparables.sortByLongKey(array, sample -> sample.l);
+      assertEquals(byLong, Arrays.asList(array));
+    }
+  }
+
+  private static double sampleDouble(final Random random) {
+    switch(random.nextInt(8)) {
+      case 0: return Double.NaN;
+      case 1: return -0.0;
+      case 2: return 0.0;
+      case 3: return Double.NEGATIVE_INFINITY;
+      default: return (random.nextDouble() - 0.5) * 100;
+    }
+  }
+
+  private static <T> List<T> sorted(final List<T> list, final Comparator<? super T> comparator) {
+    final List<T> sorted = new ArrayList<>(list);
+    sorted.sort(comparator); // stable
+    return sorted;
+  }
+
+  private static final class Sample {
+    final int index;
+    final int i;
+    final long l;
+    final double d;
+
+    Sample(final int index, final int i, final long l, final double d) {
+      this.index = index;
+      this.i = i;
+      this.l = l;
+      this.d = d;
+    }
+
+    @Override
+    public String toString() {
+      return "Sample{index=" + this.index + '}';
+    }
+  }
 }
@@ -0,0 +1,48 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu;
+
+import java.util.OptionalDouble;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MaybeDoubleTest {
+  @Test
+  void testEquals() {
+    assertEquals(MaybeDouble.just(Double.NaN), MaybeDouble.just(Double.NaN));
+    assertNotEquals(MaybeDouble.just(0D), MaybeDouble.just(-0D));
+    assertNotEquals(MaybeDouble.just(0D), MaybeDouble.nothing());
+  }
+
+  @Test
+  void testConversions() {
+    assertSame(MaybeDouble.nothing(), MaybeDouble.from(OptionalDouble.empty()));
+    assertEquals(OptionalDouble.of(1.5), MaybeDouble.just(1.5).optional());
+    assertEquals(Double.valueOf(3), Double.valueOf(MaybeDouble.just(1.5).map(value -> value * 2).orThrow()));
+    assertEquals(Double.valueOf(4.5), Double.valueOf(MaybeDouble.just(1.5).stream().map(value -> value * 3).sum()));
+  }
+}
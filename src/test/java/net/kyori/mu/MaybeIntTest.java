@@ -0,0 +1,96 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaybeIntTest {
+  @Test
+  void testNothing() {
+    assertSame(MaybeInt.nothing(), MaybeInt.nothing());
+    assertTrue(MaybeInt.nothing().isNothing());
+    assertFalse(MaybeInt.nothing().isJust());
+    assertEquals(42, MaybeInt.nothing().orDefault(42));
+    assertEquals(42, MaybeInt.nothing().orGet(() -> 42));
+    assertThrows(NoSuchElementException.class, () -> MaybeInt.nothing().orThrow());
+    assertThrows(IllegalStateException.class, () -> MaybeInt.nothing().orThrow(IllegalStateException::new));
+    assertEquals("MaybeInt.nothing()", MaybeInt.nothing().toString());
+  }
+
+  @Test
+  void testJust() {
+    final MaybeInt maybe = MaybeInt.just(42);
+    assertTrue(maybe.isJust());
+    assertEquals(42, maybe.orDefault(0));
+    assertEquals(42, maybe.orThrow());
+    assertEquals(MaybeInt.just(42), maybe);
+    assertEquals(MaybeInt.just(42).hashCode(), maybe.hashCode());
+    assertFalse(MaybeInt.just(0).equals(MaybeInt.nothing()));
+    assertEquals("MaybeInt.just(42)", maybe.toString());
+  }
+
+  @Test
+  void testFrom() {
+    assertSame(MaybeInt.nothing(), MaybeInt.from(OptionalInt.empty()));
+    assertEquals(MaybeInt.just(42), MaybeInt.from(OptionalInt.of(42)));
+    assertEquals(OptionalInt.of(42), MaybeInt.just(42).optional());
+    assertEquals(OptionalInt.empty(), MaybeInt.nothing().optional());
+  }
+
+  @Test
+  void testFilterAndMap() {
+    assertEquals(MaybeInt.just(42), MaybeInt.just(42).filter(value -> value > 0));
+    assertSame(MaybeInt.nothing(), MaybeInt.just(42).filter(value -> value < 0));
+    assertEquals(MaybeInt.just(84), MaybeInt.just(42).map(value -> value * 2));
+    assertSame(MaybeInt.nothing(), MaybeInt.nothing().map(value -> value * 2));
+    assertEquals(Maybe.just("42"), MaybeInt.just(42).mapToObj(String::valueOf));
+    assertEquals(Maybe.just(42), MaybeInt.just(42).boxed());
+    assertEquals(MaybeInt.just(1), MaybeInt.nothing().or(MaybeInt.just(1)));
+  }
+
+  @Test
+  void testIfJustAndIfNothing() {
+    final AtomicInteger value = new AtomicInteger();
+    MaybeInt.just(42).ifJust(value::set).ifNothing(() -> value.set(-1));
+    assertEquals(42, value.get());
+    MaybeInt.nothing().ifJust(value::set).ifNothing(() -> value.set(-1));
+    assertEquals(-1, value.get());
+  }
+
+  @Test
+  void testStream() {
+    assertArrayEquals(new int[]{42}, MaybeInt.just(42).stream().toArray());
+    assertEquals(0, MaybeInt.nothing().stream().count());
+  }
+}
@@ -35,6 +35,7 @@ import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -176,6 +177,13 @@ class MaybeTest {
     assertThrows(AmbiguousElementException.class, () -> Stream.of("foo", "bar").collect(Maybe.collector()));
   }
 
+  @Test
+  void testCollector_stackless() {
+    final AmbiguousElementException exception = assertThrows(AmbiguousElementException.class, () -> Stream.of("foo", "bar").collect(Maybe.collector()));
+    assertSame(AmbiguousElementException.stackless(), exception);
+    assertEquals(0, exception.getStackTrace().length);
+  }
+
   @Test
   void testCast() {
     final Maybe<CharSequence> mc = Maybe.just("abc");
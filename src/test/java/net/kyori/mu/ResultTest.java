@@ -0,0 +1,147 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import net.kyori.mu.tuple.Tuple2;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultTest {
+  @Test
+  void testSuccess() {
+    final Result<String, Integer> result = Result.success("foo");
+    assertTrue(result.isSuccess());
+    assertFalse(result.isFailure());
+    assertEquals(Maybe.just("foo"), result.value());
+    assertEquals(Maybe.nothing(), result.error());
+    assertEquals("foo", result.orDefault("bar"));
+    assertEquals("foo", result.orThrow());
+    assertEquals(Result.success("foo"), result);
+    assertEquals("Result.success(foo)", result.toString());
+  }
+
+  @Test
+  void testFailure() {
+    final Result<String, Integer> result = Result.failure(42);
+    assertFalse(result.isSuccess());
+    assertTrue(result.isFailure());
+    assertEquals(Maybe.nothing(), result.value());
+    assertEquals(Maybe.just(42), result.error());
+    assertEquals("bar", result.orDefault("bar"));
+    assertEquals("bar", result.orGet(() -> "bar"));
+    assertThrows(NoSuchElementException.class, result::orThrow);
+    assertThrows(IllegalStateException.class, () -> result.orThrow(error -> new IllegalStateException("error " + error)));
+    assertEquals(Result.failure(42), result);
+  }
+
+  @Test
+  void testMap() {
+    assertEquals(Result.success(3), Result.<String, Integer>success("foo").map(String::length));
+    final Result<String, Integer> failure = Result.failure(42);
+    // a failure is returned as-is
+    assertSame(failure, failure.map(String::length));
+    assertSame(failure, failure.flatMap(value -> Result.success(value.length())));
+    assertEquals(Result.failure(1), Result.<String, Integer>success("foo").flatMap(value -> Result.failure(1)));
+  }
+
+  @Test
+  void testMapErrorAndRecover() {
+    final Result<String, Integer> success = Result.success("foo");
+    assertSame(success, success.mapError(error -> "error"));
+    assertSame(success, success.recover(String::valueOf));
+    final Result<String, Integer> failure = Result.failure(42);
+    assertEquals(Result.failure("42"), failure.mapError(String::valueOf));
+    assertEquals(Result.success("42"), failure.recover(String::valueOf));
+  }
+
+  @Test
+  void testIfSuccessAndIfFailure() {
+    final AtomicInteger successes = new AtomicInteger();
+    final AtomicInteger failures = new AtomicInteger();
+    Result.success("foo").ifSuccess(value -> successes.incrementAndGet()).ifFailure(error -> failures.incrementAndGet());
+    Result.failure(42).ifSuccess(value -> successes.incrementAndGet()).ifFailure(error -> failures.incrementAndGet());
+    assertEquals(1, successes.get());
+    assertEquals(1, failures.get());
+  }
+
+  @Test
+  void testThrowingAdapters() {
+    assertEquals(Result.success("foo"), Result.of(() -> "foo"));
+    final IOException exception = new IOException();
+    assertEquals(Result.failure(exception), Result.of(() -> {
+      throw exception;
+    }));
+    final Function<String, Result<Integer, Throwable>> parse = Result.function(Integer::parseInt);
+    assertEquals(Result.success(42), parse.apply("42"));
+    assertTrue(parse.apply("foo").error().orThrow() instanceof NumberFormatException);
+    assertEquals(Result.success(3), Result.<Integer, Integer, Integer>biFunction(Integer::sum).apply(1, 2));
+  }
+
+  @Test
+  void testFatalErrorsRethrown() {
+    assertThrows(StackOverflowError.class, () -> Result.of(() -> {
+      throw new StackOverflowError();
+    }));
+    assertThrows(OutOfMemoryError.class, () -> Result.function(input -> {
+      throw new OutOfMemoryError();
+    }).apply("foo"));
+    // other errors are still captured
+    assertTrue(Result.of(() -> {
+      throw new AssertionError();
+    }).isFailure());
+  }
+
+  @Test
+  void testOrThrowKeepsCause() {
+    final IOException exception = new IOException();
+    assertSame(exception, assertThrows(NoSuchElementException.class, () -> Result.failure(exception).orThrow()).getCause());
+  }
+
+  @Test
+  void testPartitioning() {
+    final Tuple2<List<Integer>, List<Throwable>> partitioned = Stream.of("1", "foo", "2", "bar", "3")
+      .map(Result.function(Integer::parseInt))
+      .collect(Result.partitioning());
+    assertEquals(Arrays.asList(1, 2, 3), partitioned.a());
+    assertEquals(2, partitioned.b().size());
+  }
+
+  @Test
+  void testStream() {
+    assertEquals(1, Result.success("foo").stream().count());
+    assertEquals(0, Result.failure(42).stream().count());
+  }
+}
@@ -25,7 +25,11 @@ package net.kyori.mu.collection;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -59,4 +63,17 @@ class MuCollectionsTest {
       )
     ).isEqualTo("abc-def-ghi");
   }
+
+  @Test
+  void testParallelFold() {
+    final List<Integer> list = IntStream.range(0, 100000).boxed().collect(Collectors.toList());
+    final long expected = list.stream().mapToLong(Integer::longValue).sum();
+    assertThat(MuCollections.parallelFold(list, 0L, (sum, i) -> sum + i, Long::sum)).isEqualTo(expected);
+    assertThat(MuCollections.parallelFold(new LinkedList<>(list), 0L, (sum, i) -> sum + i, Long::sum)).isEqualTo(expected);
+    assertThat(MuCollections.parallelFold(Arrays.asList(1, 2, 3), 0L, (sum, i) -> sum + i, Long::sum)).isEqualTo(6L);
+    assertThat(MuCollections.parallelFold(Collections.<Integer>emptyList(), 0L, (sum, i) -> sum + i, Long::sum)).isEqualTo(0L);
+    // order is preserved, even though the fold is split
+    final String joined = MuCollections.parallelFold(list, "", (string, i) -> string.isEmpty() ? String.valueOf(i) : string + ',' + i, (a, b) -> a.isEmpty() ? b : b.isEmpty() ? a : a + ',' + b);
+    assertThat(joined).isEqualTo(list.stream().map(String::valueOf).collect(Collectors.joining(",")));
+  }
 }
@@ -25,6 +25,7 @@ package net.kyori.mu.collection;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
 
@@ -37,6 +38,24 @@ class MuIterablesTest {
     assertThat(MuIterables.lfold(Arrays.asList(1, 2, 3, 4, 5), 1, (a, b) -> a + b)).isEqualTo(16);
   }
 
+  @Test
+  void testLFoldInt() {
+    assertThat(MuIterables.lfoldInt(Arrays.asList("a", "bb", "ccc"), 0, (sum, string) -> sum + string.length())).isEqualTo(6);
+    assertThat(MuIterables.lfoldInt(new LinkedList<>(Arrays.asList("a", "bb", "ccc")), 1, (sum, string) -> sum + string.length())).isEqualTo(7);
+  }
+
+  @Test
+  void testLFoldLong() {
+    assertThat(MuIterables.lfoldLong(Arrays.asList(1, 2, 3), 1L << 40, (sum, i) -> sum + i)).isEqualTo((1L << 40) + 6);
+    assertThat(MuIterables.lfoldLong(new LinkedList<>(Arrays.asList(1, 2, 3)), 0L, (sum, i) -> sum + i)).isEqualTo(6L);
+  }
+
+  @Test
+  void testLFoldDouble() {
+    assertThat(MuIterables.lfoldDouble(Arrays.asList(1, 2, 3), 0.5, (sum, i) -> sum + i)).isEqualTo(6.5);
+    assertThat(MuIterables.lfoldDouble(new LinkedList<>(Arrays.asList(1, 2, 3)), 0, (product, i) -> product * i)).isEqualTo(0.0);
+  }
+
   @Test
   void testReduce() {
     final Function<Iterable<? extends String>, String> reducer = strings -> String.join("-", strings);
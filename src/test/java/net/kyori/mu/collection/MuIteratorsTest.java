@@ -23,8 +23,14 @@
  */
 package net.kyori.mu.collection;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -41,4 +47,51 @@ class MuIteratorsTest {
     assertFalse(it.hasNext());
     assertThrows(NoSuchElementException.class, it::next);
   }
+
+  @Test
+  void testMergeSorted() {
+    final Iterator<Integer> it = MuIterators.mergeSorted(
+      Comparator.naturalOrder(),
+      Arrays.asList(1, 4, 7).iterator(),
+      Collections.<Integer>emptyIterator(),
+      Arrays.asList(2, 5, 8, 9).iterator(),
+      Arrays.asList(3, 6).iterator()
+    );
+    final List<Integer> merged = new ArrayList<>();
+    it.forEachRemaining(merged::add);
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), merged);
+    assertThrows(NoSuchElementException.class, it::next);
+  }
+
+  @Test
+  void testMergeSorted_stable() {
+    final Iterator<String> it = MuIterators.mergeSorted(
+      Comparator.comparingInt(String::length),
+      Arrays.asList("a", "ccc").iterator(),
+      Arrays.asList("b", "dd").iterator()
+    );
+    final List<String> merged = new ArrayList<>();
+    it.forEachRemaining(merged::add);
+    assertEquals(Arrays.asList("a", "b", "dd", "ccc"), merged);
+  }
+
+  @Test
+  void testMergeSorted_random() {
+    final Random random = new Random(42);
+    final List<Iterator<Integer>> iterators = new ArrayList<>();
+    final List<Integer> expected = new ArrayList<>();
+    for(int i = 0; i < 50; i++) {
+      final List<Integer> run = new ArrayList<>();
+      for(int j = random.nextInt(100); j > 0; j--) {
+        run.add(random.nextInt(1000));
+      }
+      Collections.sort(run);
+      expected.addAll(run);
+      iterators.add(run.iterator());
+    }
+    Collections.sort(expected);
+    final List<Integer> merged = new ArrayList<>();
+    MuIterators.mergeSorted(iterators, Comparator.<Integer>naturalOrder()).forEachRemaining(merged::add);
+    assertEquals(expected, merged);
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchingDispatcherTest {
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    final Thread thread = new Thread(runnable, "mu-test-batching");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private final List<List<Integer>> batches = new ArrayList<>();
+
+  private Map<Integer, String> load(final List<Integer> keys) {
+    synchronized(this.batches) {
+      this.batches.add(keys);
+    }
+    final Map<Integer, String> values = new HashMap<>();
+    for(final Integer key : keys) {
+      if(key >= 0) {
+        values.put(key, "v" + key);
+      }
+    }
+    return values;
+  }
+
+  @Test
+  void testMaxBatchSize() throws Exception {
+    final BatchingDispatcher<Integer, String> dispatcher = BatchingDispatcher.create(this::load, 3, 1, TimeUnit.HOURS, this.scheduler);
+    final CompletableFuture<String> a = dispatcher.load(1);
+    final CompletableFuture<String> b = dispatcher.load(2);
+    final CompletableFuture<String> c = dispatcher.load(1);
+    assertEquals(2, dispatcher.pending());
+    final CompletableFuture<String> d = dispatcher.load(-1);
+    assertEquals(0, dispatcher.pending());
+    assertEquals("v1", a.get(5, TimeUnit.SECONDS));
+    assertEquals("v2", b.get(5, TimeUnit.SECONDS));
+    assertEquals("v1", c.get(5, TimeUnit.SECONDS));
+    assertNull(d.get(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(Arrays.asList(1, 2, -1)), this.batches);
+  }
+
+  @Test
+  void testMaxDelay() throws Exception {
+    final BatchingDispatcher<Integer, String> dispatcher = BatchingDispatcher.create(this::load, 100, 10, TimeUnit.MILLISECONDS, this.scheduler);
+    final CompletableFuture<String> a = dispatcher.load(1);
+    final CompletableFuture<String> b = dispatcher.load(2);
+    assertEquals("v1", a.get(5, TimeUnit.SECONDS));
+    assertEquals("v2", b.get(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(Arrays.asList(1, 2)), this.batches);
+  }
+
+  @Test
+  void testFlush() throws Exception {
+    final BatchingDispatcher<Integer, String> dispatcher = BatchingDispatcher.create(this::load, 100, 1, TimeUnit.HOURS, this.scheduler);
+    final CompletableFuture<String> a = dispatcher.load(3);
+    dispatcher.flush();
+    assertEquals("v3", a.get(5, TimeUnit.SECONDS));
+    dispatcher.flush();
+    assertEquals(1, this.batches.size());
+  }
+
+  @Test
+  void testLoaderFailure() {
+    final BatchingDispatcher<Integer, String> dispatcher = BatchingDispatcher.create(keys -> {
+      throw new IllegalStateException("nope");
+    }, 2, 1, TimeUnit.HOURS, this.scheduler);
+    final CompletableFuture<String> a = dispatcher.load(1);
+    final CompletableFuture<String> b = dispatcher.load(2);
+    assertTrue(assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS)).getCause() instanceof IllegalStateException);
+    assertTrue(assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS)).getCause() instanceof IllegalStateException);
+  }
+
+  @Test
+  void testLoaderReturningNull() {
+    final BatchingDispatcher<Integer, String> dispatcher = BatchingDispatcher.create(keys -> null, 2, 1, TimeUnit.HOURS, this.scheduler);
+    final CompletableFuture<String> a = dispatcher.load(1);
+    final CompletableFuture<String> b = dispatcher.load(2);
+    assertTrue(assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS)).getCause() instanceof NullPointerException);
+    assertTrue(assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS)).getCause() instanceof NullPointerException);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedQueueTest {
+  private static final List<IntFunction<BoundedQueue<Integer>>> FACTORIES = Arrays.asList(BoundedQueue::spsc, BoundedQueue::mpsc, BoundedQueue::mpmc);
+
+  @Test
+  void testCapacity() {
+    assertEquals(2, BoundedQueue.spsc(1).capacity());
+    assertEquals(8, BoundedQueue.mpsc(5).capacity());
+    assertEquals(16, BoundedQueue.mpmc(16).capacity());
+    assertThrows(IllegalArgumentException.class, () -> BoundedQueue.mpmc(0));
+  }
+
+  @Test
+  void testOfferPoll() {
+    for(final IntFunction<BoundedQueue<Integer>> factory : FACTORIES) {
+      final BoundedQueue<Integer> queue = factory.apply(4);
+      assertTrue(queue.isEmpty());
+      assertNull(queue.poll());
+      for(int lap = 0; lap < 3; lap++) {
+        for(int i = 0; i < 4; i++) {
+          assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        for(int i = 0; i < 4; i++) {
+          assertEquals(Integer.valueOf(i), queue.poll());
+        }
+        assertNull(queue.poll());
+      }
+      assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+  }
+
+  @Test
+  void testDrainFill() {
+    for(final IntFunction<BoundedQueue<Integer>> factory : FACTORIES) {
+      final BoundedQueue<Integer> queue = factory.apply(8);
+      final AtomicInteger counter = new AtomicInteger();
+      assertEquals(5, queue.fill(counter::getAndIncrement, 5));
+      assertEquals(3, queue.fill(counter::getAndIncrement, 10));
+      assertEquals(0, queue.fill(counter::getAndIncrement, 10));
+      assertEquals(8, counter.get());
+      final List<Integer> drained = new ArrayList<>();
+      assertEquals(3, queue.drain(drained::add, 3));
+      assertEquals(5, queue.drain(drained::add));
+      assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7), drained);
+      assertTrue(queue.isEmpty());
+      assertThrows(NullPointerException.class, () -> factory.apply(8).fill(() -> null, 1));
+    }
+  }
+
+  @Test
+  void testConcurrent() throws InterruptedException {
+    this.testConcurrent(BoundedQueue.spsc(64), 1, 1);
+    this.testConcurrent(BoundedQueue.mpsc(64), 4, 1);
+    this.testConcurrent(BoundedQueue.mpmc(64), 4, 4);
+  }
+
+  private void testConcurrent(final BoundedQueue<Integer> queue, final int producers, final int consumers) throws InterruptedException {
+    final int perProducer = 20000;
+    final int total = producers * perProducer;
+    final WaitStrategy strategy = WaitStrategy.progressive(100, 10, 1, TimeUnit.MICROSECONDS);
+    final AtomicInteger consumed = new AtomicInteger();
+    final AtomicLong sum = new AtomicLong();
+    final List<Thread> threads = new ArrayList<>();
+    for(int p = 0; p < producers; p++) {
+      threads.add(new Thread(() -> {
+        try {
+          for(int i = 1; i <= perProducer; i++) {
+            queue.put(i, strategy);
+          }
+        } catch(final InterruptedException e) {
+          throw new AssertionError(e);
+        }
+      }));
+    }
+    for(int c = 0; c < consumers; c++) {
+      threads.add(new Thread(() -> {
+        int attempts = 0;
+        while(consumed.get() < total) {
+          final int drained = queue.drain(element -> sum.addAndGet(element), 16);
+          if(drained == 0) {
+            attempts = strategy.idle(attempts);
+          } else {
+            consumed.addAndGet(drained);
+            attempts = 0;
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for(final Thread thread : threads) {
+      thread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+    assertEquals(total, consumed.get());
+    assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+  }
+
+  @Test
+  void testTake() throws InterruptedException {
+    final BoundedQueue<String> queue = BoundedQueue.spsc(2);
+    final Thread producer = new Thread(() -> queue.offer("hello"));
+    producer.start();
+    assertEquals("hello", queue.take(WaitStrategy.yielding()));
+    producer.join();
+  }
+}
@@ -23,9 +23,27 @@
  */
 package net.kyori.mu.concurrent;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CompletableFuturesTest {
@@ -35,4 +53,201 @@ class CompletableFuturesTest {
     assertTrue(future.isDone());
     assertTrue(future.isCompletedExceptionally());
   }
+
+  @Test
+  void testAllAsList() throws Exception {
+    assertEquals(Collections.emptyList(), CompletableFutures.allAsList(Collections.<CompletableFuture<String>>emptyList()).get());
+    final List<CompletableFuture<Integer>> futures = IntStream.range(0, 10000).mapToObj(i -> new CompletableFuture<Integer>()).collect(Collectors.toList());
+    final CompletableFuture<List<Integer>> all = CompletableFutures.allAsList(futures);
+    for(int i = futures.size() - 1; i >= 0; i--) {
+      futures.get(i).complete(i);
+    }
+    assertEquals(IntStream.range(0, 10000).boxed().collect(Collectors.toList()), all.get());
+  }
+
+  @Test
+  void testAllAsList_failFast() {
+    final CompletableFuture<String> a = new CompletableFuture<>();
+    final CompletableFuture<String> b = new CompletableFuture<>();
+    final CompletableFuture<List<String>> all = CompletableFutures.allAsList(Arrays.asList(a, b));
+    final IOException exception = new IOException("nope");
+    b.completeExceptionally(exception);
+    assertSame(exception, assertThrows(ExecutionException.class, all::get).getCause());
+    assertTrue(a.isCancelled());
+  }
+
+  @Test
+  void testFirstSuccessful() throws Exception {
+    final CompletableFuture<String> a = new CompletableFuture<>();
+    final CompletableFuture<String> b = new CompletableFuture<>();
+    final CompletableFuture<String> c = new CompletableFuture<>();
+    final CompletableFuture<String> first = CompletableFutures.firstSuccessful(Arrays.asList(a, b, c));
+    a.completeExceptionally(new IOException("nope"));
+    b.complete("b");
+    assertEquals("b", first.get());
+    assertTrue(c.isCancelled());
+
+    final IOException exception = new IOException("one");
+    final IOException other = new IOException("two");
+    final CompletableFuture<String> failed = CompletableFutures.firstSuccessful(Arrays.asList(
+      CompletableFutures.<String>completedExceptionally(exception),
+      CompletableFutures.<String>completedExceptionally(other)
+    ));
+    assertSame(exception, assertThrows(ExecutionException.class, failed::get).getCause());
+    final CompletionException aggregate = assertThrows(CompletionException.class, failed::join);
+    assertArrayEquals(new Throwable[]{other}, aggregate.getSuppressed());
+    // the failures belong to the caller, and are left untouched
+    assertEquals(0, exception.getSuppressed().length);
+    assertTrue(assertThrows(ExecutionException.class, () -> CompletableFutures.firstSuccessful(Collections.<CompletableFuture<String>>emptyList()).get()).getCause() instanceof NoSuchElementException);
+  }
+
+  @Test
+  void testFirstSuccessfulWithSameFailure() {
+    // futures derived from one failed upstream all fail with the same exception
+    final IOException exception = new IOException("same");
+    final CompletableFuture<String> upstream = CompletableFutures.completedExceptionally(exception);
+    final CompletableFuture<String> failed = CompletableFutures.firstSuccessful(Arrays.asList(upstream.thenApply(value -> value), upstream.thenApply(value -> value)));
+    assertTrue(failed.isDone());
+    assertSame(exception, assertThrows(ExecutionException.class, failed::get).getCause());
+    assertEquals(0, assertThrows(CompletionException.class, failed::join).getSuppressed().length);
+    assertEquals(0, exception.getSuppressed().length);
+  }
+
+  @Test
+  void testHedged() throws Exception {
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      // the first attempt never completes, so the hedge wins
+      final CompletableFuture<String> slow = new CompletableFuture<>();
+      final AtomicInteger attempts = new AtomicInteger();
+      final CompletableFuture<String> hedged = CompletableFutures.hedged(() -> attempts.getAndIncrement() == 0 ? slow : CompletableFuture.completedFuture("hedge"), 10, TimeUnit.MILLISECONDS, scheduler);
+      assertEquals("hedge", hedged.get(5, TimeUnit.SECONDS));
+      assertTrue(slow.isCancelled());
+      assertEquals(2, attempts.get());
+
+      // the first attempt completes quickly, so no hedge is started
+      final AtomicInteger fastAttempts = new AtomicInteger();
+      final CompletableFuture<String> fast = CompletableFutures.hedged(() -> CompletableFuture.completedFuture("fast" + fastAttempts.incrementAndGet()), 1, TimeUnit.HOURS, scheduler);
+      assertEquals("fast1", fast.get(5, TimeUnit.SECONDS));
+
+      // a failed first attempt hedges immediately, and both failing fails the result
+      final AtomicInteger failedAttempts = new AtomicInteger();
+      final CompletableFuture<String> failed = CompletableFutures.hedged(() -> CompletableFutures.completedExceptionally(new IOException("attempt " + failedAttempts.incrementAndGet())), 1, TimeUnit.HOURS, scheduler);
+      final Throwable cause = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS)).getCause();
+      assertEquals("attempt 1", cause.getMessage());
+      assertEquals(0, cause.getSuppressed().length);
+      assertEquals(1, assertThrows(CompletionException.class, failed::join).getSuppressed().length);
+
+      // a supplier returning a cached failure fails both attempts with the same exception
+      final IOException exception = new IOException("cached");
+      final CompletableFuture<String> cached = CompletableFutures.completedExceptionally(exception);
+      final CompletableFuture<String> cachedFailed = CompletableFutures.hedged(() -> cached, 1, TimeUnit.HOURS, scheduler);
+      assertSame(exception, assertThrows(ExecutionException.class, () -> cachedFailed.get(5, TimeUnit.SECONDS)).getCause());
+      for(int i = 0; i < 3; i++) {
+        CompletableFutures.hedged(() -> cached, 1, TimeUnit.HOURS, scheduler).handle((value, throwable) -> null).get(5, TimeUnit.SECONDS);
+      }
+      assertEquals(0, exception.getSuppressed().length);
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test
+  void testOrTimeout() throws Exception {
+    final CompletableFuture<String> future = CompletableFutures.orTimeout(new CompletableFuture<>(), 10, TimeUnit.MILLISECONDS);
+    assertTrue(assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS)).getCause() instanceof TimeoutException);
+
+    final CompletableFuture<String> completed = CompletableFutures.orTimeout(new CompletableFuture<>(), 20, TimeUnit.MILLISECONDS);
+    completed.complete("done");
+    Thread.sleep(50);
+    assertEquals("done", completed.get());
+  }
+
+  @Test
+  void testCompleteOnTimeout() throws Exception {
+    final CompletableFuture<String> future = CompletableFutures.completeOnTimeout(new CompletableFuture<>(), "fallback", 10, TimeUnit.MILLISECONDS);
+    assertEquals("fallback", future.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void testDelayed() throws Exception {
+    final long start = System.nanoTime();
+    CompletableFutures.delayed(20, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+
+    // many timeouts, across several revolutions of the wheel, with half cancelled
+    final List<CompletableFuture<Void>> delays = IntStream.range(0, 2000).mapToObj(i -> CompletableFutures.delayed(i % 700, TimeUnit.MILLISECONDS)).collect(Collectors.toList());
+    for(int i = 0; i < delays.size(); i += 2) {
+      delays.get(i).cancel(false);
+    }
+    for(int i = 1; i < delays.size(); i += 2) {
+      delays.get(i).get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void testRetry() throws Exception {
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final RetryPolicy policy = RetryPolicy.exponential(5, 1, 10, TimeUnit.MILLISECONDS);
+      final AtomicInteger attempts = new AtomicInteger();
+      final CompletableFuture<String> success = CompletableFutures.retry(() -> {
+        if(attempts.incrementAndGet() < 3) {
+          throw new IOException("transient");
+        }
+        return "ok";
+      }, policy, scheduler);
+      assertEquals("ok", success.get(5, TimeUnit.SECONDS));
+      assertEquals(3, attempts.get());
+
+      final AtomicInteger exhausted = new AtomicInteger();
+      final CompletableFuture<String> failure = CompletableFutures.retry(() -> {
+        throw new IOException("attempt " + exhausted.incrementAndGet());
+      }, policy, scheduler);
+      final Throwable cause = assertThrows(ExecutionException.class, () -> failure.get(5, TimeUnit.SECONDS)).getCause();
+      assertEquals("attempt 1", cause.getMessage());
+      assertEquals(0, cause.getSuppressed().length);
+      assertEquals(4, assertThrows(CompletionException.class, failure::join).getSuppressed().length);
+
+      // non-retryable failures are not retried
+      final AtomicInteger fatal = new AtomicInteger();
+      final CompletableFuture<String> notRetried = CompletableFutures.retry(() -> {
+        fatal.incrementAndGet();
+        throw new IllegalStateException("fatal");
+      }, policy.retryIf(t -> t instanceof IOException), scheduler);
+      assertTrue(assertThrows(ExecutionException.class, () -> notRetried.get(5, TimeUnit.SECONDS)).getCause() instanceof IllegalStateException);
+      assertEquals(1, fatal.get());
+
+      // nor are fatal errors, whatever the policy
+      final AtomicInteger linkage = new AtomicInteger();
+      final CompletableFuture<String> failedLinkage = CompletableFutures.retry(() -> {
+        linkage.incrementAndGet();
+        throw new NoClassDefFoundError("gone");
+      }, policy, scheduler);
+      assertTrue(assertThrows(ExecutionException.class, () -> failedLinkage.get(5, TimeUnit.SECONDS)).getCause() instanceof NoClassDefFoundError);
+      assertEquals(1, linkage.get());
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test
+  void testRetryBudget() throws Exception {
+    final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final RetryBudget budget = RetryBudget.of(0, 2);
+      final RetryPolicy policy = RetryPolicy.exponential(10, 1, 1, TimeUnit.MILLISECONDS).budget(budget);
+      final AtomicInteger attempts = new AtomicInteger();
+      final CompletableFuture<String> future = CompletableFutures.retry(() -> {
+        attempts.incrementAndGet();
+        throw new IOException("nope");
+      }, policy, scheduler);
+      assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+      // the first attempt, plus the two retries the budget allowed
+      assertEquals(3, attempts.get());
+      assertEquals(0L, budget.available());
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
 }
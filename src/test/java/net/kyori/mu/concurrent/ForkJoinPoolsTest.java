@@ -0,0 +1,62 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForkJoinPoolsTest {
+  @Test
+  void testCreate() {
+    final ForkJoinPool pool = ForkJoinPools.create("mu-test", 3);
+    try {
+      assertEquals(3, pool.getParallelism());
+      final Thread thread = pool.submit(Thread::currentThread).join();
+      assertTrue(thread instanceof ForkJoinWorkerThread);
+      assertTrue(thread.getName().startsWith("mu-test-"));
+      assertTrue(thread.isDaemon());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testMetrics() {
+    final ForkJoinPool pool = ForkJoinPools.create("mu-test", 2);
+    try {
+      pool.submit(() -> {}).join();
+      final PoolMetrics metrics = PoolMetrics.of(pool);
+      assertEquals(2, metrics.parallelism());
+      assertTrue(metrics.poolSize() > 0);
+      assertTrue(metrics.stealCount() >= 0);
+      assertEquals(0L, metrics.queuedTaskCount());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
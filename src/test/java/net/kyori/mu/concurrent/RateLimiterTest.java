@@ -0,0 +1,171 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+  private final AtomicLong clock = new AtomicLong();
+
+  @Test
+  void testTokenBucket() {
+    final RateLimiter limiter = RateLimiter.tokenBucket(10, 1, TimeUnit.SECONDS, 5, this.clock::get);
+    // starts full, with a burst of five
+    assertTrue(limiter.tryAcquire(3));
+    assertTrue(limiter.tryAcquire(2));
+    assertFalse(limiter.tryAcquire());
+    // one permit refills every 100ms
+    this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    // refilling stops at the burst size
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    assertTrue(limiter.tryAcquire(5));
+    assertFalse(limiter.tryAcquire());
+    assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(6));
+  }
+
+  @Test
+  void testTokenBucket_acquire() throws Exception {
+    final RateLimiter limiter = RateLimiter.tokenBucket(100, 1, TimeUnit.SECONDS, 1);
+    assertTrue(limiter.acquire().isDone());
+    final CompletableFuture<Void> future = limiter.acquire();
+    assertFalse(future.isDone());
+    future.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testSlidingWindow() {
+    final long window = TimeUnit.SECONDS.toNanos(1);
+    final RateLimiter limiter = RateLimiter.slidingWindow(10, 1, TimeUnit.SECONDS, this.clock::get);
+    assertTrue(limiter.tryAcquire(10));
+    assertFalse(limiter.tryAcquire());
+    // half way into the next window, half of the previous window still counts
+    this.clock.addAndGet(window + window / 2);
+    assertTrue(limiter.tryAcquire(5));
+    assertFalse(limiter.tryAcquire());
+    // two windows later, nothing counts
+    this.clock.addAndGet(window * 2);
+    assertTrue(limiter.tryAcquire(10));
+    assertThrows(IllegalArgumentException.class, () -> limiter.tryAcquire(11));
+  }
+
+  @Test
+  void testSlidingWindow_acquire() throws Exception {
+    final RateLimiter limiter = RateLimiter.slidingWindow(2, 20, TimeUnit.MILLISECONDS);
+    assertTrue(limiter.tryAcquire(2));
+    final CompletableFuture<Void> future = limiter.acquire(2);
+    assertFalse(future.isDone());
+    future.get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testKeyed() {
+    final AtomicInteger created = new AtomicInteger();
+    final KeyedRateLimiter<String> limiter = new KeyedRateLimiterImpl<>(key -> {
+      created.incrementAndGet();
+      return RateLimiter.tokenBucket(1, 1, TimeUnit.SECONDS, 1, this.clock::get);
+    }, 2, this.clock::get);
+    assertTrue(limiter.tryAcquire("a", 1));
+    assertFalse(limiter.tryAcquire("a", 1));
+    assertTrue(limiter.tryAcquire("b", 1));
+    assertSame(limiter.limiter("a"), limiter.limiter("a"));
+    assertEquals(2, created.get());
+    // both limiters have permits in use, so neither is evicted - that would reset their quota
+    final RateLimiter a = limiter.limiter("a");
+    final RateLimiter b = limiter.limiter("b");
+    limiter.limiter("c");
+    assertSame(a, limiter.limiter("a"));
+    assertSame(b, limiter.limiter("b"));
+    assertFalse(limiter.tryAcquire("a", 1));
+    // once refilled, the longest idle limiters are evicted by the next sweep
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.limiter("d");
+    this.clock.addAndGet(1);
+    limiter.limiter("a");
+    this.clock.addAndGet(1);
+    limiter.limiter("e");
+    assertSame(a, limiter.limiter("a"));
+    assertNotSame(b, limiter.limiter("b"));
+  }
+
+  @Test
+  void testKeyedSweep() {
+    final AtomicInteger created = new AtomicInteger();
+    final KeyedRateLimiter<String> limiter = new KeyedRateLimiterImpl<>(key -> {
+      created.incrementAndGet();
+      return RateLimiter.tokenBucket(1, 1, TimeUnit.SECONDS, 1, this.clock::get);
+    }, 4, this.clock::get);
+    for(final String key : new String[]{"a", "b", "c", "d", "e"}) {
+      assertTrue(limiter.tryAcquire(key, 1));
+      this.clock.addAndGet(1);
+    }
+    // nothing could be evicted, so inserting another key doesn't sweep again
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    limiter.limiter("f");
+    this.clock.addAndGet(1);
+    limiter.limiter("e");
+    limiter.limiter("d");
+    assertEquals(6, created.get());
+    // the next one does, evicting the longest idle limiters
+    this.clock.addAndGet(1);
+    limiter.limiter("g");
+    for(final String key : new String[]{"d", "e", "g"}) {
+      limiter.limiter(key);
+    }
+    assertEquals(7, created.get());
+    limiter.limiter("a");
+    assertEquals(8, created.get());
+  }
+
+  @Test
+  void testIsFull() {
+    final RateLimiter bucket = RateLimiter.tokenBucket(1, 1, TimeUnit.SECONDS, 2, this.clock::get);
+    assertTrue(bucket.isFull());
+    assertTrue(bucket.tryAcquire());
+    assertFalse(bucket.isFull());
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(bucket.isFull());
+    final RateLimiter window = RateLimiter.slidingWindow(2, 1, TimeUnit.SECONDS, this.clock::get);
+    assertTrue(window.isFull());
+    assertTrue(window.tryAcquire());
+    assertFalse(window.isFull());
+    // still sliding out of the window
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertFalse(window.isFull());
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(window.isFull());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+  @Test
+  void testCoalesce() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final SingleFlight<String, Integer> flight = SingleFlight.create(executor);
+      final CountDownLatch latch = new CountDownLatch(1);
+      final AtomicInteger executions = new AtomicInteger();
+      final CompletableFuture<Integer> a = flight.execute("a", () -> {
+        latch.await();
+        return executions.incrementAndGet();
+      });
+      final CompletableFuture<Integer> b = flight.execute("a", () -> executions.addAndGet(100));
+      assertTrue(flight.isInFlight("a"));
+      assertFalse(flight.isInFlight("b"));
+      // cancelling one caller's future does not affect the others
+      final CompletableFuture<Integer> c = flight.execute("a", () -> executions.addAndGet(100));
+      c.cancel(false);
+      latch.countDown();
+      assertEquals(Integer.valueOf(1), a.get());
+      assertEquals(Integer.valueOf(1), b.get());
+      assertEquals(1, executions.get());
+      assertFalse(flight.isInFlight("a"));
+      // completed executions are not cached
+      assertEquals(Integer.valueOf(2), flight.execute("a", executions::incrementAndGet).get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testFailure() {
+    final SingleFlight<String, Integer> flight = SingleFlight.create();
+    final CompletableFuture<Integer> future = flight.execute("a", () -> {
+      throw new IOException("nope");
+    });
+    final ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    assertTrue(e.getCause() instanceof IOException);
+    assertFalse(flight.isInFlight("a"));
+  }
+
+  @Test
+  void testRejected() {
+    final SingleFlight<String, Integer> flight = SingleFlight.create(task -> {
+      throw new RejectedExecutionException();
+    }, 4);
+    final ExecutionException e = assertThrows(ExecutionException.class, () -> flight.execute("a", () -> 1).get());
+    assertTrue(e.getCause() instanceof RejectedExecutionException);
+    assertFalse(flight.isInFlight("a"));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.concurrent;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedTest {
+  @Test
+  void testLock() {
+    final Striped<Lock> striped = Striped.lock(10);
+    assertEquals(16, striped.size());
+    assertSame(striped.get("a"), striped.get(new String("a")));
+    assertSame(striped.get("a"), striped.getAt(striped.indexFor("a")));
+    final Lock lock = striped.get(42);
+    lock.lock();
+    try {
+      assertTrue(lock.tryLock());
+      lock.unlock();
+    } finally {
+      lock.unlock();
+    }
+    assertThrows(IllegalArgumentException.class, () -> Striped.lock(0));
+  }
+
+  @Test
+  void testReadWriteLock() {
+    final Striped<ReadWriteLock> striped = Striped.readWriteLock(1);
+    assertEquals(1, striped.size());
+    assertSame(striped.get("a"), striped.get("b"));
+  }
+
+  @Test
+  void testSemaphore() {
+    final Striped<Semaphore> striped = Striped.semaphore(4, 2);
+    final Semaphore semaphore = striped.get("key");
+    assertTrue(semaphore.tryAcquire(2));
+    assertEquals(0, semaphore.availablePermits());
+  }
+
+  @Test
+  void testDistribution() {
+    // keys whose hash codes differ only in their high bits still spread across stripes
+    final Striped<Lock> striped = Striped.lock(16);
+    final Set<Integer> indices = new HashSet<>();
+    for(int i = 0; i < 16; i++) {
+      indices.add(striped.indexFor(i << 20));
+    }
+    assertTrue(indices.size() > 8);
+  }
+
+  @Test
+  void testStripeForIsIndependentOfLowBits() {
+    // hash tables select bins by the low bits, so keys sharing a stripe must not also share their low bits
+    final Set<Integer> lowBits = new HashSet<>();
+    for(int i = 0; i < 1024; i++) {
+      if(StripedImpl.stripeFor(i, 4) == 0) {
+        lowBits.add(i & 15);
+      }
+    }
+    assertTrue(lowBits.size() > 8);
+    assertEquals(0, StripedImpl.stripeFor(42, 0));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.exception;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.mu.TestException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CountingExceptionHandlerTest {
+  private final AtomicLong clock = new AtomicLong();
+  private final List<Throwable> handled = new ArrayList<>();
+  private final CountingExceptionHandler handler = CountingExceptionHandler.create((throwable, source) -> this.handled.add(throwable), this.clock::get);
+
+  @Test
+  void testCounts() {
+    this.handler.handleException(new TestException(), "a");
+    this.handler.handleException(new TestException(), "b");
+    this.handler.handleException(new IOException(), "a");
+    this.handler.handleException(new IOException());
+    assertEquals(4, this.handled.size());
+    assertEquals(2, this.handler.count(TestException.class));
+    assertEquals(2, this.handler.count(IOException.class));
+    assertEquals(0, this.handler.count(IllegalStateException.class));
+    assertEquals(2, this.handler.count("a"));
+    assertEquals(1, this.handler.count("b"));
+    assertEquals(Long.valueOf(2), this.handler.counts().get(IOException.class));
+    assertEquals(2, this.handler.sourceCounts().size());
+  }
+
+  @Test
+  void testRates() {
+    for(int i = 0; i < 10; i++) {
+      this.handler.handleException(new TestException());
+    }
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    for(int i = 0; i < 20; i++) {
+      this.handler.handleException(new TestException());
+    }
+    // the second in progress isn't counted until it has ended
+    assertEquals(10.0, this.handler.rate(TestException.class, 1, TimeUnit.SECONDS));
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertEquals(20.0, this.handler.rate(TestException.class, 1, TimeUnit.SECONDS));
+    assertEquals(15.0, this.handler.rate(TestException.class, 2, TimeUnit.SECONDS));
+    assertEquals(Double.valueOf(3.0), this.handler.rates(10, TimeUnit.SECONDS).get(TestException.class));
+    // once the window has rolled past, the old counts no longer contribute, but the totals remain
+    this.clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+    assertEquals(0.0, this.handler.rate(TestException.class, 1, TimeUnit.MINUTES));
+    assertEquals(0, this.handler.rates(1, TimeUnit.MINUTES).size());
+    assertEquals(30, this.handler.count(TestException.class));
+    assertThrows(IllegalArgumentException.class, () -> this.handler.rate(TestException.class, 2, TimeUnit.MINUTES));
+  }
+
+  @Test
+  void testLateIncrement() {
+    this.clock.set(TimeUnit.SECONDS.toNanos(62));
+    this.handler.handleException(new TestException());
+    // a thread running late, with an epoch sharing the bucket now counting a later second
+    this.clock.set(TimeUnit.SECONDS.toNanos(1));
+    this.handler.handleException(new TestException());
+    this.clock.set(TimeUnit.SECONDS.toNanos(63));
+    assertEquals(1.0, this.handler.rate(TestException.class, 1, TimeUnit.SECONDS));
+    assertEquals(2, this.handler.count(TestException.class));
+  }
+}
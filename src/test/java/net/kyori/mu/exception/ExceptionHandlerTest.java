@@ -0,0 +1,97 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.exception;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionHandlerTest {
+  @Test
+  void testAsync() {
+    final List<Runnable> tasks = new ArrayList<>();
+    final Executor executor = tasks::add;
+    final List<Throwable> handled = new ArrayList<>();
+    final List<Object> sources = new ArrayList<>();
+    final ExceptionHandler handler = ExceptionHandler.async((throwable, source) -> {
+      handled.add(throwable);
+      sources.add(source);
+    }, executor, 2);
+
+    // thrown from the same place, so all but the first are duplicates
+    final List<IllegalStateException> thrown = new ArrayList<>();
+    for(int i = 0; i < 6; i++) {
+      final IllegalStateException exception = new IllegalStateException("fail " + i);
+      handler.handleException(exception, "source");
+      thrown.add(exception);
+    }
+    final IllegalStateException first = thrown.get(0);
+    // nothing is delivered on the calling thread
+    assertTrue(handled.isEmpty());
+    final IllegalArgumentException other = new IllegalArgumentException("other");
+    handler.handleException(other);
+    // the queue is full, so this is dropped
+    handler.handleException(new UnsupportedOperationException());
+
+    assertEquals(1, tasks.size());
+    tasks.remove(0).run();
+    assertEquals(2, handled.size());
+    final Throwable summary = handled.get(0);
+    assertSame(first, summary.getCause());
+    assertEquals("source", sources.get(0));
+    assertTrue(summary.getMessage().startsWith("5 similar exception(s) suppressed, 1 exception(s) dropped"));
+    assertEquals(0, summary.getStackTrace().length);
+    // the original is left untouched
+    assertEquals(0, first.getSuppressed().length);
+    assertSame(other, handled.get(1));
+
+    // once delivered, the same exception is queued again
+    handler.handleException(new IllegalStateException("again"));
+    tasks.remove(0).run();
+    assertEquals(3, handled.size());
+  }
+
+  @Test
+  void testAsyncDoesNotModifyRepeatedException() {
+    final List<Runnable> tasks = new ArrayList<>();
+    final List<Throwable> handled = new ArrayList<>();
+    final ExceptionHandler handler = ExceptionHandler.async((throwable, source) -> handled.add(throwable), tasks::add, 4);
+    final IllegalStateException cached = new IllegalStateException("cached");
+    for(int i = 0; i < 3; i++) {
+      handler.handleException(cached);
+      handler.handleException(cached);
+      tasks.remove(0).run();
+    }
+    assertEquals(3, handled.size());
+    for(final Throwable throwable : handled) {
+      assertSame(cached, throwable.getCause());
+    }
+    assertEquals(0, cached.getSuppressed().length);
+  }
+}
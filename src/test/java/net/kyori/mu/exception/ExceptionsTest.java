@@ -31,6 +31,7 @@ import net.kyori.mu.TestException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -68,6 +69,15 @@ class ExceptionsTest {
     assertSame(error, assertThrows(Error.class, () -> Exceptions.throwIfUnchecked(error)));
   }
 
+  @Test
+  void testThrowIfFatal() {
+    assertDoesNotThrow(() -> Exceptions.throwIfFatal(new Error("not fatal")));
+    assertDoesNotThrow(() -> Exceptions.throwIfFatal(new TestException()));
+    final OutOfMemoryError error = new OutOfMemoryError();
+    assertSame(error, assertThrows(OutOfMemoryError.class, () -> Exceptions.throwIfFatal(error)));
+    assertThrows(NoClassDefFoundError.class, () -> Exceptions.throwIfFatal(new NoClassDefFoundError()));
+  }
+
   @Test
   void testUnwrap() {
     final TestException te = new TestException();
@@ -77,4 +87,15 @@ class ExceptionsTest {
     ts.hasCauseThat().isSameAs(te);
     assertSame(te, Exceptions.unwrap(new InvocationTargetException(te)));
   }
+
+  @Test
+  void testStackless() {
+    final TestException te = new TestException();
+    final RuntimeException exception = Exceptions.stackless("fast", te);
+    assertEquals("fast", exception.getMessage());
+    assertSame(te, exception.getCause());
+    assertEquals(0, exception.getStackTrace().length);
+    exception.addSuppressed(new TestException());
+    assertEquals(0, exception.getSuppressed().length);
+  }
 }
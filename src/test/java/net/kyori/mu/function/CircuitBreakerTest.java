@@ -0,0 +1,122 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.function;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CircuitBreakerTest {
+  private final AtomicLong clock = new AtomicLong();
+  private final List<String> transitions = new ArrayList<>();
+  private final CircuitBreaker breaker = CircuitBreaker.create(0.5, 4, 10, 5, TimeUnit.SECONDS, (breaker, from, to) -> this.transitions.add(from + "->" + to), this.clock::get);
+
+  @Test
+  void testOpensOnFailureRate() throws IOException {
+    final ThrowingFunction<Boolean, String, IOException> function = this.breaker.decorateFunction(fail -> {
+      if(fail) {
+        throw new IOException("nope");
+      }
+      return "ok";
+    });
+    assertEquals("ok", function.throwingApply(false));
+    assertThrows(IOException.class, () -> function.throwingApply(true));
+    assertThrows(IOException.class, () -> function.throwingApply(true));
+    // below the minimum number of calls, so still closed
+    assertEquals(CircuitBreaker.State.CLOSED, this.breaker.state());
+    assertThrows(IOException.class, () -> function.throwingApply(true));
+    assertEquals(CircuitBreaker.State.OPEN, this.breaker.state());
+    assertEquals(0.75, this.breaker.failureRate());
+    assertThrows(CircuitBreakerOpenException.class, () -> function.throwingApply(false));
+  }
+
+  @Test
+  void testHalfOpenProbe() throws Exception {
+    this.open();
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+    final long probe = this.breaker.tryAcquirePermission();
+    assertNotEquals(CircuitBreaker.NOT_PERMITTED, probe);
+    assertEquals(CircuitBreaker.State.HALF_OPEN, this.breaker.state());
+    // only one probe at a time
+    assertEquals(CircuitBreaker.NOT_PERMITTED, this.breaker.tryAcquirePermission());
+    this.breaker.onFailure(probe);
+    assertEquals(CircuitBreaker.State.OPEN, this.breaker.state());
+
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+    assertEquals("probe", this.breaker.call(() -> "probe"));
+    assertEquals(CircuitBreaker.State.CLOSED, this.breaker.state());
+    assertEquals(0.0, this.breaker.failureRate());
+    assertEquals(Arrays.asList("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), this.transitions);
+  }
+
+  @Test
+  void testStaleOutcomesIgnored() {
+    // a slow call admitted while closed
+    final long slow = this.breaker.tryAcquirePermission();
+    this.open();
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+    final long probe = this.breaker.tryAcquirePermission();
+    // the slow call completing can't decide the probe
+    this.breaker.onSuccess(slow);
+    assertEquals(CircuitBreaker.State.HALF_OPEN, this.breaker.state());
+    this.breaker.onFailure(slow);
+    assertEquals(CircuitBreaker.State.HALF_OPEN, this.breaker.state());
+    this.breaker.onSuccess(probe);
+    assertEquals(CircuitBreaker.State.CLOSED, this.breaker.state());
+    // nor can the probe be reported twice
+    this.breaker.onFailure(probe);
+    assertEquals(CircuitBreaker.State.CLOSED, this.breaker.state());
+    assertEquals(0.0, this.breaker.failureRate());
+  }
+
+  @Test
+  void testSlidingWindow() {
+    for(int i = 0; i < 3; i++) {
+      this.breaker.onFailure(this.breaker.tryAcquirePermission());
+    }
+    // once the failures slide out of the window, they no longer count
+    this.clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    for(int i = 0; i < 3; i++) {
+      this.breaker.onSuccess(this.breaker.tryAcquirePermission());
+    }
+    this.breaker.onFailure(this.breaker.tryAcquirePermission());
+    assertEquals(CircuitBreaker.State.CLOSED, this.breaker.state());
+    assertEquals(0.25, this.breaker.failureRate());
+  }
+
+  private void open() {
+    for(int i = 0; i < 4; i++) {
+      this.breaker.onFailure(this.breaker.tryAcquirePermission());
+    }
+    assertEquals(CircuitBreaker.State.OPEN, this.breaker.state());
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.function;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MuSuppliersTest {
+  @Test
+  void testMemoize() throws InterruptedException {
+    final AtomicInteger calls = new AtomicInteger();
+    final Supplier<Integer> supplier = MuSuppliers.memoize(calls::incrementAndGet);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>();
+    for(int i = 0; i < 8; i++) {
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch(final InterruptedException e) {
+          throw new AssertionError(e);
+        }
+        assertEquals(Integer.valueOf(1), supplier.get());
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for(final Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(1, calls.get());
+    assertSame(supplier, MuSuppliers.memoize(supplier));
+  }
+
+  @Test
+  void testMemoizeThrowing() throws IOException {
+    final AtomicInteger calls = new AtomicInteger();
+    final ThrowingSupplier<String, IOException> supplier = MuSuppliers.memoizeThrowing(() -> {
+      if(calls.incrementAndGet() == 1) {
+        throw new IOException("transient");
+      }
+      return "ok";
+    });
+    // failures are not cached
+    assertThrows(IOException.class, supplier::throwingGet);
+    assertEquals("ok", supplier.throwingGet());
+    assertEquals("ok", supplier.throwingGet());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void testMemoizeWithExpiration() throws InterruptedException {
+    final AtomicInteger calls = new AtomicInteger();
+    final Supplier<Integer> supplier = MuSuppliers.memoizeWithExpiration(calls::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+    assertEquals(Integer.valueOf(1), supplier.get());
+    assertEquals(Integer.valueOf(1), supplier.get());
+    Thread.sleep(40);
+    assertEquals(Integer.valueOf(2), supplier.get());
+    assertThrows(IllegalArgumentException.class, () -> MuSuppliers.memoizeWithExpiration(calls::incrementAndGet, 0, TimeUnit.SECONDS));
+  }
+}
@@ -23,8 +23,10 @@
  */
 package net.kyori.mu.reflect;
 
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -35,8 +37,25 @@ class MethodsTest {
     assertNotNull(Methods.findDeclaredIn(Full.class, "kitten"));
   }
 
+  @Test
+  void testFindDeclaredIn_overloads() throws NoSuchMethodException {
+    assertEquals(Full.class.getDeclaredMethod("kitten", int.class), Methods.findDeclaredIn(Full.class, "kitten", int.class));
+    assertNull(Methods.findDeclaredIn(Full.class, "kitten", long.class));
+    // prefers the covariant override over its bridge method
+    assertEquals(String.class, Methods.findDeclaredIn(Covariant.class, "get").getReturnType());
+  }
+
   static class Full {
     void kitten() {}
+
+    void kitten(final int lives) {}
+  }
+
+  static class Covariant implements Supplier<Object> {
+    @Override
+    public String get() {
+      return "";
+    }
   }
   static class Empty {}
 }
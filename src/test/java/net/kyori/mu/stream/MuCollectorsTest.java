@@ -0,0 +1,65 @@
+/*
+ * This file is part of mu, licensed under the MIT License.
+ *
+ * Copyright (c) 2018-2020 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.mu.stream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MuCollectorsTest {
+  @Test
+  void testTopK() {
+    assertEquals(Collections.emptyList(), Stream.<Integer>empty().collect(MuCollectors.topK(3)));
+    assertEquals(Collections.emptyList(), Stream.of(1, 2, 3).collect(MuCollectors.topK(0)));
+    assertEquals(Arrays.asList(3, 2, 1), Stream.of(1, 3, 2).collect(MuCollectors.topK(5)));
+    assertEquals(Arrays.asList(9, 8, 7), Stream.of(5, 9, 1, 7, 3, 8, 2).collect(MuCollectors.topK(3)));
+    assertEquals(Arrays.asList("a", "bb"), Stream.of("ccc", "a", "bb").collect(MuCollectors.topK(2, Comparator.comparingInt(String::length).reversed())));
+    assertThrows(IllegalArgumentException.class, () -> MuCollectors.topK(-1));
+  }
+
+  @Test
+  void testBottomK() {
+    assertEquals(Arrays.asList(1, 2, 3), Stream.of(5, 9, 1, 7, 3, 8, 2).collect(MuCollectors.bottomK(3)));
+    assertEquals(Arrays.asList("ccc", "bb"), Stream.of("ccc", "a", "bb").collect(MuCollectors.bottomK(2, Comparator.comparingInt(String::length).reversed())));
+  }
+
+  @Test
+  void testTopK_parallel() {
+    final Random random = new Random(42);
+    final List<Integer> values = IntStream.range(0, 100000).map(i -> random.nextInt()).boxed().collect(Collectors.toList());
+    final List<Integer> expected = new ArrayList<>(values);
+    expected.sort(Comparator.reverseOrder());
+    assertEquals(expected.subList(0, 100), values.parallelStream().collect(MuCollectors.topK(100)));
+  }
+}
@@ -24,12 +24,37 @@
 package net.kyori.mu.stream;
 
 import com.google.common.collect.Iterators;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import net.kyori.mu.concurrent.ForkJoinPools;
+import net.kyori.mu.concurrent.MuFlow;
 import org.junit.jupiter.api.Test;
 
+import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MuStreamsTest {
   @Test
@@ -72,4 +97,374 @@ class MuStreamsTest {
     final B b1 = new B();
     assertThat(MuStreams.cast(Stream.of(a0, b0, a1, b1), A.class)).containsExactly(a0, a1).inOrder();
   }
+
+  @Test
+  void testChunked() {
+    assertThat(MuStreams.chunked(Stream.empty(), 2)).isEmpty();
+    assertThat(MuStreams.chunked(Stream.of(1, 2, 3, 4, 5), 2)).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)).inOrder();
+    assertThat(MuStreams.chunked(Stream.of(1, 2, 3, 4), 2)).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4)).inOrder();
+    assertThrows(IllegalArgumentException.class, () -> MuStreams.chunked(Stream.of(1), 0));
+    // a chunk size far larger than the stream doesn't allocate a chunk of that size
+    assertThat(MuStreams.chunked(Stream.of(1, 2, 3), Integer.MAX_VALUE)).containsExactly(Arrays.asList(1, 2, 3));
+    assertThat(MuStreams.chunked(Stream.iterate(1, i -> i + 1).limit(3), Integer.MAX_VALUE)).containsExactly(Arrays.asList(1, 2, 3));
+  }
+
+  @Test
+  void testChunked_parallel() {
+    final List<List<Integer>> chunks = MuStreams.chunked(IntStream.range(0, 10000).boxed().parallel(), 3).collect(Collectors.toList());
+    assertThat(chunks.size()).isEqualTo(3334);
+    assertThat(chunks.stream().flatMap(List::stream).collect(Collectors.toList())).isEqualTo(IntStream.range(0, 10000).boxed().collect(Collectors.toList()));
+  }
+
+  @Test
+  void testWindowed() {
+    assertThat(MuStreams.windowed(Stream.of(1, 2), 3, 1)).isEmpty();
+    assertThat(MuStreams.windowed(Stream.of(1, 2, 3, 4), 3, 1)).containsExactly(Arrays.asList(1, 2, 3), Arrays.asList(2, 3, 4)).inOrder();
+    assertThat(MuStreams.windowed(Stream.of(1, 2, 3, 4, 5), 2, 2)).containsExactly(Arrays.asList(1, 2), Arrays.asList(3, 4)).inOrder();
+    assertThat(MuStreams.windowed(Stream.of(1, 2, 3, 4, 5, 6, 7), 2, 3)).containsExactly(Arrays.asList(1, 2), Arrays.asList(4, 5)).inOrder();
+    assertThrows(IllegalArgumentException.class, () -> MuStreams.windowed(Stream.of(1), 1, 0));
+  }
+
+  @Test
+  void testWindowed_parallel() {
+    final List<List<Integer>> windows = MuStreams.windowed(IntStream.range(0, 10000).boxed().parallel(), 4, 1).collect(Collectors.toList());
+    assertThat(windows.size()).isEqualTo(9997);
+    for(int i = 0; i < windows.size(); i++) {
+      assertThat(windows.get(i)).isEqualTo(Arrays.asList(i, i + 1, i + 2, i + 3));
+    }
+  }
+
+  @Test
+  void testMapAsync() {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final AtomicInteger running = new AtomicInteger();
+      final AtomicInteger maxRunning = new AtomicInteger();
+      final List<Integer> results = MuStreams.mapAsync(IntStream.range(0, 100).boxed(), i -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(1);
+        } catch(final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        return i * 2;
+      }, executor, 3).collect(Collectors.toList());
+      assertThat(results).isEqualTo(IntStream.range(0, 100).map(i -> i * 2).boxed().collect(Collectors.toList()));
+      assertTrue(maxRunning.get() <= 3);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testMapAsyncUnordered() {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Integer> results = MuStreams.mapAsyncUnordered(IntStream.range(0, 100).boxed(), i -> i * 2, executor, 4).sorted().collect(Collectors.toList());
+      assertThat(results).isEqualTo(IntStream.range(0, 100).map(i -> i * 2).boxed().collect(Collectors.toList()));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testMapAsync_failure() {
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertThrows(IllegalStateException.class, () -> MuStreams.mapAsync(Stream.of(1, 2, 3), i -> {
+        if(i == 2) throw new IllegalStateException();
+        return i;
+      }, executor, 2).forEach(i -> {}));
+      assertThrows(RejectedExecutionException.class, () -> MuStreams.mapAsyncUnordered(Stream.of(1, 2, 3), i -> i, command -> {
+        throw new RejectedExecutionException();
+      }, 2).forEach(i -> {}));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testParallelIn() {
+    final ForkJoinPool pool = ForkJoinPools.create("mu-test", 2);
+    try {
+      final Set<String> threads = ConcurrentHashMap.newKeySet();
+      final PooledStream<Integer> stream = MuStreams.parallelIn(pool, IntStream.range(0, 1000).boxed().peek(i -> threads.add(Thread.currentThread().getName())));
+      assertEquals(499500, (int) stream.reduce(0, Integer::sum));
+      assertTrue(threads.stream().allMatch(name -> name.startsWith("mu-test-")));
+      assertEquals(2, stream.metrics().parallelism());
+      assertEquals(3L, (long) MuStreams.parallelIn(pool, Stream.of(1, 2, 3)).applyAsync(Stream::count).join());
+      assertThrows(IllegalStateException.class, () -> MuStreams.parallelIn(pool, Stream.of(1)).forEach(i -> {
+        throw new IllegalStateException();
+      }));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testToPublisher() throws InterruptedException {
+    final AtomicBoolean closed = new AtomicBoolean();
+    final List<Integer> received = new ArrayList<>();
+    final CountDownLatch completed = new CountDownLatch(1);
+    MuStreams.toPublisher(Stream.of(1, 2, 3, 4, 5).onClose(() -> closed.set(true)), Runnable::run).subscribe(new MuFlow.Subscriber<Integer>() {
+      private MuFlow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(final MuFlow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(2);
+      }
+
+      @Override
+      public void onNext(final Integer item) {
+        received.add(item);
+        if(received.size() % 2 == 0) {
+          this.subscription.request(2);
+        }
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+        completed.countDown();
+      }
+    });
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), received);
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void testToPublisher_cancel() {
+    final AtomicBoolean closed = new AtomicBoolean();
+    final List<Integer> received = new ArrayList<>();
+    MuStreams.toPublisher(IntStream.range(0, 100).boxed().onClose(() -> closed.set(true)), Runnable::run).subscribe(new MuFlow.Subscriber<Integer>() {
+      private MuFlow.Subscription subscription;
+
+      @Override
+      public void onSubscribe(final MuFlow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(final Integer item) {
+        received.add(item);
+        if(item == 2) {
+          this.subscription.cancel();
+        }
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+    assertEquals(Arrays.asList(0, 1, 2), received);
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void testToPublisher_demandDriven() {
+    final AtomicInteger pulled = new AtomicInteger();
+    final List<Integer> received = new ArrayList<>();
+    final AtomicBoolean completed = new AtomicBoolean();
+    final List<MuFlow.Subscription> subscriptions = new ArrayList<>();
+    MuStreams.toPublisher(Stream.of(1, 2).peek(i -> pulled.incrementAndGet()), Runnable::run).subscribe(new MuFlow.Subscriber<Integer>() {
+      @Override
+      public void onSubscribe(final MuFlow.Subscription subscription) {
+        subscriptions.add(subscription);
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(final Integer item) {
+        received.add(item);
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+        completed.set(true);
+      }
+    });
+    // nothing is pulled beyond what was requested
+    assertEquals(Arrays.asList(1), received);
+    assertEquals(1, pulled.get());
+    subscriptions.get(0).request(1);
+    assertEquals(2, pulled.get());
+    assertFalse(completed.get());
+    // completion is only discovered on behalf of outstanding demand
+    subscriptions.get(0).request(1);
+    assertTrue(completed.get());
+  }
+
+  @Test
+  void testToPublisher_cancelInOnSubscribe() {
+    final AtomicBoolean closed = new AtomicBoolean();
+    final List<Integer> received = new ArrayList<>();
+    MuStreams.toPublisher(Stream.of(1, 2).onClose(() -> closed.set(true)), Runnable::run).subscribe(new MuFlow.Subscriber<Integer>() {
+      @Override
+      public void onSubscribe(final MuFlow.Subscription subscription) {
+        subscription.request(1);
+        subscription.cancel();
+      }
+
+      @Override
+      public void onNext(final Integer item) {
+        received.add(item);
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+    assertTrue(received.isEmpty());
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void testToPublisher_rejected() {
+    final List<Throwable> errors = new ArrayList<>();
+    MuStreams.toPublisher(Stream.of(1, 2), runnable -> {
+      throw new RejectedExecutionException();
+    }).subscribe(new MuFlow.Subscriber<Integer>() {
+      @Override
+      public void onSubscribe(final MuFlow.Subscription subscription) {
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(final Integer item) {
+      }
+
+      @Override
+      public void onError(final Throwable throwable) {
+        errors.add(throwable);
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+    assertEquals(1, errors.size());
+    assertTrue(errors.get(0) instanceof RejectedExecutionException);
+  }
+
+  @Test
+  void testFromPublisher() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+      assertEquals(expected, MuStreams.fromPublisher(MuStreams.toPublisher(expected.stream(), executor), 16).collect(Collectors.toList()));
+      final AtomicBoolean closed = new AtomicBoolean();
+      try(final Stream<Integer> stream = MuStreams.fromPublisher(MuStreams.toPublisher(IntStream.range(0, 1000).boxed().onClose(() -> closed.set(true)), executor), 4)) {
+        assertEquals(Arrays.asList(0, 1, 2), stream.limit(3).collect(Collectors.toList()));
+      }
+      executor.submit(() -> {}).get(); // wait for the cancellation to be processed
+      assertTrue(closed.get());
+      assertThrows(IllegalStateException.class, () -> MuStreams.fromPublisher(subscriber -> {
+        subscriber.onSubscribe(new MuFlow.Subscription() {
+          @Override
+          public void request(final long n) {
+            subscriber.onNext(1);
+            subscriber.onError(new IllegalStateException());
+          }
+
+          @Override
+          public void cancel() {
+          }
+        });
+      }, 4).forEach(i -> {}));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testMemoize() {
+    final AtomicInteger pulled = new AtomicInteger();
+    final AtomicBoolean closed = new AtomicBoolean();
+    final Supplier<Stream<Integer>> source = MuStreams.memoize(IntStream.range(0, 1000).boxed().peek(i -> pulled.incrementAndGet()).onClose(() -> closed.set(true)));
+    assertEquals(Arrays.asList(0, 1, 2), source.get().limit(3).collect(Collectors.toList()));
+    assertEquals(3, pulled.get());
+    assertFalse(closed.get());
+
+    final Iterator<Integer> first = source.get().iterator();
+    final Iterator<Integer> second = source.get().iterator();
+    for(int i = 0; i < 500; i++) {
+      assertEquals(i, (int) first.next());
+    }
+    for(int i = 0; i < 500; i++) {
+      assertEquals(i, (int) second.next());
+    }
+    assertEquals(500, pulled.get());
+
+    final List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+    assertEquals(expected, source.get().collect(Collectors.toList()));
+    assertEquals(expected, source.get().parallel().collect(Collectors.toList()));
+    assertEquals(1000, pulled.get());
+    assertTrue(closed.get());
+  }
+
+  @Test
+  void testMemoize_concurrent() throws Exception {
+    final AtomicInteger pulled = new AtomicInteger();
+    final Supplier<Stream<Integer>> source = MuStreams.memoize(IntStream.range(0, 10000).boxed().peek(i -> pulled.incrementAndGet()));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Integer> expected = IntStream.range(0, 10000).boxed().collect(Collectors.toList());
+      final List<Future<List<Integer>>> futures = new ArrayList<>();
+      for(int i = 0; i < 4; i++) {
+        futures.add(executor.submit(() -> source.get().collect(Collectors.toList())));
+      }
+      for(final Future<List<Integer>> future : futures) {
+        assertEquals(expected, future.get());
+      }
+      assertEquals(10000, pulled.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testMergeSorted() {
+    final AtomicInteger closed = new AtomicInteger();
+    final Stream<Integer> stream = MuStreams.mergeSorted(Arrays.asList(
+      Stream.of(1, 4, 7).onClose(closed::incrementAndGet),
+      Stream.of(2, 5, 8, 9).onClose(closed::incrementAndGet),
+      Stream.of(3, 6).onClose(closed::incrementAndGet)
+    ), Comparator.naturalOrder());
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), stream.collect(Collectors.toList()));
+    stream.close();
+    assertEquals(3, closed.get());
+
+    // every stream is closed, even if an earlier one fails to
+    final IllegalStateException first = new IllegalStateException("first");
+    final IllegalStateException second = new IllegalStateException("second");
+    final AtomicInteger closedAfterFailure = new AtomicInteger();
+    final Stream<Integer> failing = MuStreams.mergeSorted(Arrays.asList(
+      Stream.of(1).onClose(() -> { throw first; }),
+      Stream.of(2).onClose(() -> { throw second; }),
+      Stream.of(3).onClose(closedAfterFailure::incrementAndGet)
+    ), Comparator.naturalOrder());
+    assertEquals(first, assertThrows(IllegalStateException.class, failing::close));
+    assertEquals(1, closedAfterFailure.get());
+    assertEquals(1, first.getSuppressed().length);
+    assertEquals(second, first.getSuppressed()[0]);
+  }
 }